@@ -6,6 +6,7 @@ const BlogCard = ({
   blog,
   showAuthor = true,
   showActions = false,
+  liked = false,
   onEdit,
   onDelete,
 }) => {
@@ -22,9 +23,8 @@ const BlogCard = ({
     return text.substring(0, maxLength) + "...";
   };
 
-  const thumbnailUrl = (blog.imageUrls || []).find(
-    (u) => typeof u === "string" && u.trim().length > 0
-  );
+  // List responses carry only the first image; the detail page loads the rest
+  const thumbnailUrl = blog.thumbnailUrl;
 
   return (
     <div className="card overflow-hidden hover:shadow-lg transition-shadow duration-300">
@@ -124,7 +124,10 @@ const BlogCard = ({
               <span>{blog.viewCount}</span>
             </div>
             <div className="flex items-center space-x-1">
-              <Heart size={14} />
+              <Heart
+                size={14}
+                className={liked ? "text-red-500 fill-red-500" : undefined}
+              />
               <span>{blog.likeCount || 0}</span>
             </div>
             <div className="flex items-center space-x-1">
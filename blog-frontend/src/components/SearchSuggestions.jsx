@@ -0,0 +1,78 @@
+import React, { useState, useEffect } from "react";
+import { useNavigate } from "react-router-dom";
+import { FileText, User } from "lucide-react";
+import { blogApiService } from "../services/api";
+
+const DEBOUNCE_MS = 150;
+
+// Dropdown of title and author completions for a search box. The parent keeps
+// the input and renders this inside a relatively positioned wrapper.
+const SearchSuggestions = ({ query, open, onClose }) => {
+  const [suggestions, setSuggestions] = useState([]);
+  const navigate = useNavigate();
+
+  useEffect(() => {
+    const prefix = query.trim();
+    if (!open || !prefix) {
+      setSuggestions([]);
+      return;
+    }
+
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try {
+        const result = await blogApiService.suggest(prefix);
+        if (!cancelled) {
+          setSuggestions(result);
+        }
+      } catch (error) {
+        console.error("Failed to fetch suggestions:", error);
+      }
+    }, DEBOUNCE_MS);
+
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [query, open]);
+
+  const handleSelect = (suggestion) => {
+    onClose();
+    if (suggestion.type === "TITLE") {
+      navigate(`/blogs/${suggestion.blogId}`);
+    } else {
+      navigate(`/blogs?search=${encodeURIComponent(suggestion.text)}`);
+    }
+  };
+
+  if (!open || suggestions.length === 0) {
+    return null;
+  }
+
+  return (
+    <ul className="absolute left-0 right-0 top-full mt-1 z-30 bg-white border border-gray-200 rounded-md shadow-lg overflow-hidden text-left">
+      {suggestions.map((suggestion) => (
+        <li key={`${suggestion.type}-${suggestion.blogId ?? suggestion.text}`}>
+          <button
+            type="button"
+            // mousedown fires before the input's blur closes the list
+            onMouseDown={(e) => {
+              e.preventDefault();
+              handleSelect(suggestion);
+            }}
+            className="w-full flex items-center space-x-2 px-4 py-2 text-gray-700 hover:bg-gray-100"
+          >
+            {suggestion.type === "TITLE" ? (
+              <FileText size={16} className="text-gray-400" />
+            ) : (
+              <User size={16} className="text-gray-400" />
+            )}
+            <span className="truncate">{suggestion.text}</span>
+          </button>
+        </li>
+      ))}
+    </ul>
+  );
+};
+
+export default SearchSuggestions;
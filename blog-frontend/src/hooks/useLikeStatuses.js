@@ -0,0 +1,38 @@
+import { useState, useEffect } from "react";
+import { useAuth } from "../contexts/AuthContext";
+import { engagementApiService } from "../services/api";
+
+/**
+ * Whether the signed-in user liked each of the listed blogs, fetched in one request.
+ * @param {Array<{id: number}>} blogs - Blogs shown on the page
+ * @returns {Object<number, boolean>} - Liked flag by blog id; empty when signed out
+ */
+export const useLikeStatuses = (blogs) => {
+  const { isAuthenticated } = useAuth();
+  const [statuses, setStatuses] = useState({});
+
+  useEffect(() => {
+    if (!isAuthenticated || blogs.length === 0) {
+      setStatuses({});
+      return;
+    }
+
+    let cancelled = false;
+    engagementApiService
+      .getLikeStatuses(blogs.map((blog) => blog.id))
+      .then((result) => {
+        if (!cancelled) {
+          setStatuses(result);
+        }
+      })
+      .catch(() => {
+        // like markers are decorative; leave them off
+      });
+
+    return () => {
+      cancelled = true;
+    };
+  }, [blogs, isAuthenticated]);
+
+  return statuses;
+};
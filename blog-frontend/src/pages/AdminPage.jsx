@@ -395,9 +395,9 @@ const AdminPage = () => {
                           <td className="px-6 py-4 whitespace-nowrap">
                             <div className="flex items-center">
                               <div className="flex-shrink-0 h-10 w-10 overflow-hidden rounded-lg bg-gray-100">
-                                {blog.imageUrls && blog.imageUrls.length > 0 ? (
+                                {blog.thumbnailUrl ? (
                                   <img
-                                    src={blog.imageUrls[0]}
+                                    src={blog.thumbnailUrl}
                                     alt={blog.title}
                                     className="h-10 w-10 object-cover"
                                     onError={(e) => {
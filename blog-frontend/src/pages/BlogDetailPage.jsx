@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from "react";
+import React, { useState, useEffect, useRef } from "react";
 import { useParams, useNavigate, Link } from "react-router-dom";
 import {
   Calendar,
@@ -24,6 +24,8 @@ const BlogDetailPage = () => {
   const [error, setError] = useState("");
   const [isLiked, setIsLiked] = useState(false);
   const [likeCount, setLikeCount] = useState(0);
+  // True while the live stream owns likeCount; it already carries our own likes as deltas
+  const liveRef = useRef(false);
 
   useEffect(() => {
     const fetchBlog = async () => {
@@ -62,10 +64,12 @@ const BlogDetailPage = () => {
           }
         }
         
-        if (isMounted) {
-          // Load like count
+        if (isMounted && !liveRef.current) {
+          // Load like count unless the live snapshot already arrived
           const count = await engagementApiService.getLikesCount(id);
-          setLikeCount(count);
+          if (isMounted && !liveRef.current) {
+            setLikeCount(count);
+          }
         }
       } catch (e) {
         // ignore engagement errors
@@ -79,6 +83,24 @@ const BlogDetailPage = () => {
     };
   }, [id]);
 
+  // Keep the like count live instead of polling
+  useEffect(() => {
+    const close = engagementApiService.subscribeLiveCounts(id, {
+      onSnapshot: (counts) => {
+        liveRef.current = true;
+        setLikeCount(counts.likeCount);
+      },
+      onDelta: (delta) => setLikeCount((count) => count + delta.likes),
+      onError: () => {
+        liveRef.current = false;
+      },
+    });
+    return () => {
+      liveRef.current = false;
+      close();
+    };
+  }, [id]);
+
   // Load like status separately when authentication changes
   useEffect(() => {
     const loadLikeStatus = async () => {
@@ -105,9 +127,11 @@ const BlogDetailPage = () => {
       const newIsLiked = await engagementApiService.toggleLike(id);
       setIsLiked(newIsLiked);
       
-      // Update like count
-      const newCount = await engagementApiService.getLikesCount(id);
-      setLikeCount(newCount);
+      // The live stream delivers this like as a delta; setting the count here too would count it twice
+      if (!liveRef.current) {
+        const newCount = await engagementApiService.getLikesCount(id);
+        setLikeCount(newCount);
+      }
       
       // Also refresh blog data to keep it in sync
       const blogData = isAuthenticated
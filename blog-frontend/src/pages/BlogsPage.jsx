@@ -4,6 +4,8 @@ import { Search, Filter, ChevronLeft, ChevronRight } from "lucide-react";
 import { blogApiService } from "../services/api";
 import BlogCard from "../components/BlogCard";
 import Header from "../components/Header";
+import SearchSuggestions from "../components/SearchSuggestions";
+import { useLikeStatuses } from "../hooks/useLikeStatuses";
 
 const BlogsPage = () => {
   const [searchParams, setSearchParams] = useSearchParams();
@@ -17,8 +19,15 @@ const BlogsPage = () => {
   const [currentPage, setCurrentPage] = useState(0);
   const [sortOption, setSortOption] = useState("createdAt,desc");
   const [loading, setLoading] = useState(true);
+  const likeStatuses = useLikeStatuses(blogs);
 
   const searchQuery = searchParams.get("search") || "";
+  const [searchTerm, setSearchTerm] = useState(searchQuery);
+  const [showSuggestions, setShowSuggestions] = useState(false);
+
+  useEffect(() => {
+    setSearchTerm(searchQuery);
+  }, [searchQuery]);
 
   useEffect(() => {
     let isMounted = true; // Flag to prevent state updates if component unmounts
@@ -88,6 +97,7 @@ const BlogsPage = () => {
     e.preventDefault();
     const formData = new FormData(e.target);
     const search = formData.get("search");
+    setShowSuggestions(false);
 
     if (search) {
       setSearchParams({ search });
@@ -140,10 +150,22 @@ const BlogsPage = () => {
                 <input
                   type="text"
                   name="search"
-                  defaultValue={searchQuery}
+                  value={searchTerm}
+                  onChange={(e) => {
+                    setSearchTerm(e.target.value);
+                    setShowSuggestions(true);
+                  }}
+                  onFocus={() => setShowSuggestions(true)}
+                  onBlur={() => setShowSuggestions(false)}
+                  autoComplete="off"
                   placeholder="Search blogs..."
                   className="w-full pl-10 pr-4 py-2 border border-gray-300 rounded-md focus:outline-none focus:ring-2 focus:ring-blue-500 focus:border-blue-500"
                 />
+                <SearchSuggestions
+                  query={searchTerm}
+                  open={showSuggestions}
+                  onClose={() => setShowSuggestions(false)}
+                />
               </div>
             </form>
 
@@ -180,7 +202,7 @@ const BlogsPage = () => {
             {blogs.length > 0 ? (
               <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-8">
                 {blogs.map((blog) => (
-                  <BlogCard key={blog.id} blog={blog} />
+                  <BlogCard key={blog.id} blog={blog} liked={likeStatuses[blog.id]} />
                 ))}
               </div>
             ) : (
@@ -4,17 +4,26 @@ import { Search, Plus, ArrowRight } from "lucide-react";
 import { blogApiService } from "../services/api";
 import BlogCard from "../components/BlogCard";
 import Header from "../components/Header";
+import SearchSuggestions from "../components/SearchSuggestions";
+import { useLikeStatuses } from "../hooks/useLikeStatuses";
+
+const FEED_PAGE_SIZE = 6;
 
 const HomePage = () => {
   const [blogs, setBlogs] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+  const likeStatuses = useLikeStatuses(blogs);
   const [searchTerm, setSearchTerm] = useState("");
+  const [showSuggestions, setShowSuggestions] = useState(false);
 
   useEffect(() => {
     const fetchBlogs = async () => {
       try {
-        const response = await blogApiService.getPublishedBlogs(0, 6);
-        setBlogs(response.content);
+        const response = await blogApiService.getPublishedFeed(null, FEED_PAGE_SIZE);
+        setBlogs(response.items);
+        setNextCursor(response.nextCursor);
       } catch (error) {
         console.error("Failed to fetch blogs:", error);
       } finally {
@@ -25,6 +34,20 @@ const HomePage = () => {
     fetchBlogs();
   }, []);
 
+  // Seeks past the last card instead of counting an offset, so later pages cost the same as the first
+  const loadMore = async () => {
+    setLoadingMore(true);
+    try {
+      const response = await blogApiService.getPublishedFeed(nextCursor, FEED_PAGE_SIZE);
+      setBlogs((current) => [...current, ...response.items]);
+      setNextCursor(response.nextCursor);
+    } catch (error) {
+      console.error("Failed to fetch more blogs:", error);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleSearch = (e) => {
     e.preventDefault();
     if (searchTerm.trim()) {
@@ -64,12 +87,18 @@ const HomePage = () => {
             </p>
 
             {/* Search Bar */}
-            <form onSubmit={handleSearch} className="max-w-2xl mx-auto">
+            <form onSubmit={handleSearch} className="relative max-w-2xl mx-auto">
               <div className="flex bg-white/95 backdrop-blur rounded-2xl overflow-hidden shadow-2xl border border-white/20">
                 <input
                   type="text"
                   value={searchTerm}
-                  onChange={(e) => setSearchTerm(e.target.value)}
+                  onChange={(e) => {
+                    setSearchTerm(e.target.value);
+                    setShowSuggestions(true);
+                  }}
+                  onFocus={() => setShowSuggestions(true)}
+                  onBlur={() => setShowSuggestions(false)}
+                  autoComplete="off"
                   placeholder="Search for amazing blogs..."
                   className="flex-1 px-8 py-5 text-gray-900 placeholder-gray-500 focus:outline-none bg-transparent text-lg"
                 />
@@ -80,6 +109,11 @@ const HomePage = () => {
                   Search
                 </button>
               </div>
+              <SearchSuggestions
+                query={searchTerm}
+                open={showSuggestions}
+                onClose={() => setShowSuggestions(false)}
+              />
             </form>
           </div>
         </div>
@@ -118,11 +152,23 @@ const HomePage = () => {
         ) : (
           <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-8">
             {blogs.map((blog) => (
-              <BlogCard key={blog.id} blog={blog} />
+              <BlogCard key={blog.id} blog={blog} liked={likeStatuses[blog.id]} />
             ))}
           </div>
         )}
 
+        {!loading && nextCursor && (
+          <div className="text-center mt-12">
+            <button
+              onClick={loadMore}
+              disabled={loadingMore}
+              className="px-6 py-3 border border-gray-300 rounded-lg text-gray-700 hover:bg-gray-100 transition-colors disabled:opacity-50"
+            >
+              {loadingMore ? "Loading..." : "Load more"}
+            </button>
+          </div>
+        )}
+
         {!loading && blogs.length === 0 && (
           <div className="text-center py-12">
             <p className="text-gray-500 text-lg">
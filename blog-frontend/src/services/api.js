@@ -100,11 +100,24 @@ export const blogApiService = {
     return response.data;
   },
 
+  getPublishedFeed: async (cursor = null, size = 10) => {
+    const query = cursor ? `&cursor=${encodeURIComponent(cursor)}` : "";
+    const response = await blogApi.get(`/blogs/public/feed?size=${size}${query}`);
+    return response.data; // { items, nextCursor } - nextCursor is null on the last page
+  },
+
   getPublishedBlogById: async (blogId) => {
     const response = await blogApi.get(`/blogs/public/${blogId}`);
     return response.data;
   },
 
+  suggest: async (prefix, limit = 8, fuzzy = true) => {
+    const res = await blogApi.get(
+      `/blogs/public/suggest?prefix=${encodeURIComponent(prefix)}&limit=${limit}&fuzzy=${fuzzy}`
+    );
+    return res.data; // [{ type: "TITLE" | "AUTHOR", text, blogId }]
+  },
+
   searchPublishedBlogs: async (query, page = 0, size = 10) => {
     const response = await blogApi.get(
       `/blogs/public/search?keyword=${encodeURIComponent(
@@ -191,11 +204,25 @@ export const engagementApiService = {
     const res = await engagementApi.get(`/blogs/${blogId}/likes/status`);
     return res.data; // returns boolean
   },
+  getLikeStatuses: async (blogIds) => {
+    const res = await engagementApi.post(`/blogs/likes/status`, blogIds);
+    return res.data; // returns { [blogId]: boolean }
+  },
   getLikesCount: async (blogId) => {
     const res = await engagementApi.get(`/public/blogs/${blogId}/likes/count`);
     return res.data;
   },
 
+  // Live counts: pushes a full snapshot on connect, then coalesced deltas. onError fires when the stream drops
+  // (the browser reconnects and sends a new snapshot unless the server refused it). Returns a function that closes the stream.
+  subscribeLiveCounts: (blogId, { onSnapshot, onDelta, onError }) => {
+    const source = new EventSource(`${API_GATEWAY_URL}/engagement/public/blogs/${blogId}/live`);
+    source.addEventListener("snapshot", (e) => onSnapshot && onSnapshot(JSON.parse(e.data)));
+    source.addEventListener("delta", (e) => onDelta && onDelta(JSON.parse(e.data)));
+    source.onerror = () => onError && onError();
+    return () => source.close();
+  },
+
   // Views
   recordView: async (blogId) => {
     try {
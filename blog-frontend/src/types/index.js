@@ -53,7 +53,8 @@
  * @property {string} createdAt
  * @property {string} updatedAt
  * @property {boolean} isPublished
- * @property {string[]} imageUrls
+ * @property {string[]} [imageUrls] - detail view only
+ * @property {string} [thumbnailUrl] - list views only: the first image
  * @property {number} likeCount
  * @property {number} commentCount
  * @property {number} viewCount
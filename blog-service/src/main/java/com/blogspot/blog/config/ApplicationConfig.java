@@ -1,5 +1,7 @@
 package com.blogspot.blog.config;
 
+import com.blogspot.common.security.JwtVerifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,4 +14,10 @@ public class ApplicationConfig {
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
         return config.getAuthenticationManager();
     }
+
+    @Bean
+    public JwtVerifier jwtVerifier(@Value("${spring.security.oauth2.jwt.secret}") String secretKey,
+                                   @Value("${jwt.verification-cache.max-size:10000}") int maxCacheSize) {
+        return new JwtVerifier(secretKey, maxCacheSize);
+    }
 }
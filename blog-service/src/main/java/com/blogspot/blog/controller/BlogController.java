@@ -1,8 +1,10 @@
 package com.blogspot.blog.controller;
 
 import com.blogspot.blog.dto.BlogCreateDto;
+import com.blogspot.blog.dto.BlogFeedPage;
 import com.blogspot.blog.dto.BlogResponseDto;
 import com.blogspot.blog.dto.BlogUpdateDto;
+import com.blogspot.blog.dto.SuggestionDto;
 import com.blogspot.blog.exception.BlogNotFoundException;
 import com.blogspot.blog.exception.UnauthorizedAccessException;
 import com.blogspot.blog.service.BlogService;
@@ -11,6 +13,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +23,8 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 import com.blogspot.blog.dto.BlogSummaryInternalDto;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/blogs")
 @RequiredArgsConstructor
@@ -45,16 +50,17 @@ public class BlogController {
     }
 
     @GetMapping("/public")
-    public ResponseEntity<Page<BlogResponseDto>> getAllPublishedBlogs(
+    public ResponseEntity<Slice<BlogResponseDto>> getAllPublishedBlogs(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
         try {
             Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
             Pageable pageable = PageRequest.of(page, size, sort);
-            Page<BlogResponseDto> blogs = blogService.getAllPublishedBlogs(pageable);
+            Slice<BlogResponseDto> blogs = blogService.getAllPublishedBlogs(pageable, withTotal);
             return ResponseEntity.ok(blogs);
         } catch (Exception e) {
             log.error("Error fetching published blogs: {}", e.getMessage());
@@ -64,17 +70,18 @@ public class BlogController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public ResponseEntity<Page<BlogResponseDto>> getAllBlogs(
+    public ResponseEntity<Slice<BlogResponseDto>> getAllBlogs(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "true") boolean withTotal,
             @RequestHeader("Authorization") String token) {
         try {
             Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
             Pageable pageable = PageRequest.of(page, size, sort);
-            Page<BlogResponseDto> blogs = blogService.getAllBlogs(pageable, token);
+            Slice<BlogResponseDto> blogs = blogService.getAllBlogs(pageable, withTotal, token);
             return ResponseEntity.ok(blogs);
         } catch (Exception e) {
             log.error("Error fetching blogs: {}", e.getMessage());
@@ -132,18 +139,19 @@ public class BlogController {
 
     @GetMapping("/author/{authorId}")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public ResponseEntity<Page<BlogResponseDto>> getBlogsByAuthor(
+    public ResponseEntity<Slice<BlogResponseDto>> getBlogsByAuthor(
             @PathVariable Long authorId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "true") boolean withTotal,
             @RequestHeader("Authorization") String token) {
         try {
             Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
             Pageable pageable = PageRequest.of(page, size, sort);
-            Page<BlogResponseDto> blogs = blogService.getBlogsByAuthor(authorId, pageable, token);
+            Slice<BlogResponseDto> blogs = blogService.getBlogsByAuthor(authorId, pageable, withTotal, token);
             return ResponseEntity.ok(blogs);
         } catch (Exception e) {
             log.error("Error fetching blogs by author: {}", e.getMessage());
@@ -151,6 +159,54 @@ public class BlogController {
         }
     }
 
+    // Keyset feeds: newest first, paged with an opaque cursor instead of page numbers
+    @GetMapping("/public/feed")
+    public ResponseEntity<BlogFeedPage> getPublishedFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            return ResponseEntity.ok(blogService.getPublishedFeed(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error fetching published feed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/feed")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<BlogFeedPage> getFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestHeader("Authorization") String token) {
+        try {
+            return ResponseEntity.ok(blogService.getFeed(cursor, size, token));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error fetching feed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/author/{authorId}/feed")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<BlogFeedPage> getAuthorFeed(
+            @PathVariable Long authorId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestHeader("Authorization") String token) {
+        try {
+            return ResponseEntity.ok(blogService.getAuthorFeed(authorId, cursor, size, token));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error fetching author feed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @GetMapping("/search")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     public ResponseEntity<Page<BlogResponseDto>> searchBlogs(
@@ -191,6 +247,27 @@ public class BlogController {
         }
     }
 
+    @GetMapping("/public/suggest")
+    public ResponseEntity<List<SuggestionDto>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "false") boolean fuzzy) {
+        return ResponseEntity.ok(blogService.suggest(prefix, limit, fuzzy));
+    }
+
+    @PostMapping("/admin/search/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> rebuildSearchIndex(@RequestHeader("Authorization") String token) {
+        try {
+            blogService.rebuildSearchIndex(token);
+            return ResponseEntity.accepted().build();
+        } catch (UnauthorizedAccessException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     public ResponseEntity<BlogResponseDto> updateBlog(
@@ -0,0 +1,19 @@
+package com.blogspot.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BlogFeedPage {
+    @Builder.Default
+    private List<BlogResponseDto> items = new ArrayList<>();
+    private String nextCursor; // null when there are no more blogs
+}
@@ -22,8 +22,10 @@ public class BlogResponseDto {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Boolean isPublished;
-    private List<String> imageUrls;
+    private List<String> imageUrls; // detail view only
+    private String thumbnailUrl; // list views only: the first image
     private Integer likeCount;
     private Integer commentCount;
     private Integer viewCount;
+    private String highlight; // search results only: HTML-escaped snippet with matches in <mark>
 }
@@ -0,0 +1,17 @@
+package com.blogspot.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EngagementCountsDto {
+    private Long blogId;
+    private Long likeCount;
+    private Long viewCount;
+    private Long commentCount;
+}
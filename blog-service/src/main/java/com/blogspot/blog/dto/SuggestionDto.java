@@ -0,0 +1,16 @@
+package com.blogspot.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SuggestionDto {
+    private String type; // TITLE or AUTHOR
+    private String text;
+    private Long blogId; // titles only
+}
@@ -10,7 +10,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "blogs")
+@Table(name = "blogs", indexes = {
+        @Index(name = "idx_blogs_published_created_id", columnList = "is_published, created_at, id"),
+        @Index(name = "idx_blogs_author_created_id", columnList = "author_id, created_at, id"),
+        @Index(name = "idx_blogs_updated_at", columnList = "updated_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,8 +28,7 @@ public class Blog {
     @Column(nullable = false)
     private String title;
 
-    @Column(columnDefinition = "TEXT", nullable = false)
-    private String content;
+    // Full text lives in blog_content (see BlogContent)
 
     @Column(columnDefinition = "TEXT")
     private String summary;
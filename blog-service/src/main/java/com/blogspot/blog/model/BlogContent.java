@@ -0,0 +1,27 @@
+package com.blogspot.blog.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Full text of a blog, kept out of the blogs table so list and feed queries only read narrow rows.
+ * Shares the blog's id and is loaded only when a single blog is fetched, searched or indexed.
+ */
+@Entity
+@Table(name = "blog_content")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BlogContent {
+
+    @Id
+    @Column(name = "blog_id")
+    private Long blogId;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String content;
+}
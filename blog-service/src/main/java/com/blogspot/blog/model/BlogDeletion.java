@@ -0,0 +1,31 @@
+package com.blogspot.blog.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tombstone for a deleted blog, so in-memory views on other nodes (see BlogSuggester) can drop it
+ * on their next sync. Purged after blog.suggest.deletion-retention.
+ */
+@Entity
+@Table(name = "blog_deletions", indexes = {
+        @Index(name = "idx_blog_deletions_deleted_at", columnList = "deleted_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BlogDeletion {
+
+    @Id
+    @Column(name = "blog_id")
+    private Long blogId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,9 @@
+package com.blogspot.blog.repository;
+
+import com.blogspot.blog.model.BlogContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BlogContentRepository extends JpaRepository<BlogContent, Long> {
+}
@@ -0,0 +1,24 @@
+package com.blogspot.blog.repository;
+
+import com.blogspot.blog.model.BlogDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BlogDeletionRepository extends JpaRepository<BlogDeletion, Long> {
+
+    @Query("SELECT d.blogId FROM BlogDeletion d WHERE d.deletedAt > :since")
+    List<Long> findBlogIdsDeletedAfter(@Param("since") LocalDateTime since);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM BlogDeletion d WHERE d.deletedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -3,11 +3,13 @@ package com.blogspot.blog.repository;
 import com.blogspot.blog.model.Blog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,13 +22,89 @@ public interface BlogRepository extends JpaRepository<Blog, Long> {
     
     Page<Blog> findByAuthorIdAndIsPublishedTrue(Long authorId, Pageable pageable);
     
-    @Query("SELECT b FROM Blog b WHERE b.title LIKE %:keyword% OR b.content LIKE %:keyword%")
+    // Slice variants: fetch one extra row instead of running a COUNT query
+    Slice<Blog> findSliceByIsPublishedTrue(Pageable pageable);
+
+    @Query("SELECT b FROM Blog b")
+    Slice<Blog> findAllAsSlice(Pageable pageable);
+
+    Slice<Blog> findSliceByAuthorId(Long authorId, Pageable pageable);
+
+    Slice<Blog> findSliceByAuthorIdAndIsPublishedTrue(Long authorId, Pageable pageable);
+
+    // Keyset feeds, newest first: seek past the cursor on (created_at, id) using
+    // idx_blogs_published_created_id / idx_blogs_author_created_id
+    @Query("SELECT b FROM Blog b WHERE b.isPublished = true ORDER BY b.createdAt DESC, b.id DESC")
+    List<Blog> findPublishedFeed(Pageable pageable);
+
+    @Query("SELECT b FROM Blog b WHERE b.isPublished = true AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) "
+            + "ORDER BY b.createdAt DESC, b.id DESC")
+    List<Blog> findPublishedFeedBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT b FROM Blog b ORDER BY b.createdAt DESC, b.id DESC")
+    List<Blog> findFeed(Pageable pageable);
+
+    @Query("SELECT b FROM Blog b WHERE b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id) "
+            + "ORDER BY b.createdAt DESC, b.id DESC")
+    List<Blog> findFeedBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT b FROM Blog b WHERE b.authorId = :authorId AND (:publishedOnly = false OR b.isPublished = true) "
+            + "ORDER BY b.createdAt DESC, b.id DESC")
+    List<Blog> findAuthorFeed(@Param("authorId") Long authorId, @Param("publishedOnly") boolean publishedOnly, Pageable pageable);
+
+    @Query("SELECT b FROM Blog b WHERE b.authorId = :authorId AND (:publishedOnly = false OR b.isPublished = true) "
+            + "AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) ORDER BY b.createdAt DESC, b.id DESC")
+    List<Blog> findAuthorFeedBefore(@Param("authorId") Long authorId, @Param("publishedOnly") boolean publishedOnly,
+                                    @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    // Content is matched in blog_content; the subquery only runs for blogs whose title does not match
+    String CONTENT_LIKE = "EXISTS (SELECT 1 FROM BlogContent c WHERE c.blogId = b.id AND c.content LIKE %:keyword%)";
+
+    @Query("SELECT b FROM Blog b WHERE b.title LIKE %:keyword% OR " + CONTENT_LIKE)
     Page<Blog> findByTitleContainingOrContentContaining(@Param("keyword") String keyword, @Param("keyword") String keyword2, Pageable pageable);
     
-    @Query("SELECT b FROM Blog b WHERE (b.title LIKE %:keyword% OR b.content LIKE %:keyword%) AND b.isPublished = true")
+    @Query("SELECT b FROM Blog b WHERE (b.title LIKE %:keyword% OR " + CONTENT_LIKE + ") AND b.isPublished = true")
     Page<Blog> findByTitleContainingOrContentContainingAndIsPublishedTrue(@Param("keyword") String keyword, @Param("keyword") String keyword2, Pageable pageable);
     
+    // FULLTEXT search (MySQL only) on ft_blogs_text (blogs.title, summary) and ft_blog_content
+    // (blog_content.content), most relevant first. Each MATCH uses its own table's index; a blog's
+    // relevance is the sum of its title/summary and content scores.
+    String NATURAL = " AGAINST (:query IN NATURAL LANGUAGE MODE)";
+    String BOOLEAN = " AGAINST (:query IN BOOLEAN MODE)";
+    String RANKED_NATURAL = "(SELECT m.id, SUM(m.score) AS score FROM ("
+            + "SELECT id, MATCH(title, summary)" + NATURAL + " AS score FROM blogs WHERE MATCH(title, summary)" + NATURAL
+            + " UNION ALL SELECT blog_id, MATCH(content)" + NATURAL + " FROM blog_content WHERE MATCH(content)" + NATURAL
+            + ") m GROUP BY m.id)";
+    String RANKED_BOOLEAN = "(SELECT m.id, SUM(m.score) AS score FROM ("
+            + "SELECT id, MATCH(title, summary)" + BOOLEAN + " AS score FROM blogs WHERE MATCH(title, summary)" + BOOLEAN
+            + " UNION ALL SELECT blog_id, MATCH(content)" + BOOLEAN + " FROM blog_content WHERE MATCH(content)" + BOOLEAN
+            + ") m GROUP BY m.id)";
+    String RANKED_JOIN = " r ON r.id = b.id WHERE (:publishedOnly = false OR b.is_published = true)";
+
+    @Query(value = "SELECT b.* FROM blogs b JOIN " + RANKED_NATURAL + RANKED_JOIN + " ORDER BY r.score DESC, b.id DESC",
+            countQuery = "SELECT COUNT(*) FROM blogs b JOIN " + RANKED_NATURAL + RANKED_JOIN,
+            nativeQuery = true)
+    Page<Blog> searchFulltextNatural(@Param("query") String query, @Param("publishedOnly") boolean publishedOnly, Pageable pageable);
+
+    @Query(value = "SELECT b.* FROM blogs b JOIN " + RANKED_BOOLEAN + RANKED_JOIN + " ORDER BY r.score DESC, b.id DESC",
+            countQuery = "SELECT COUNT(*) FROM blogs b JOIN " + RANKED_BOOLEAN + RANKED_JOIN,
+            nativeQuery = true)
+    Page<Blog> searchFulltextBoolean(@Param("query") String query, @Param("publishedOnly") boolean publishedOnly, Pageable pageable);
+
+    // List thumbnails: (blogId, imageUrl) for a whole page in one blog_images query
+    @Query("SELECT b.id, i FROM Blog b JOIN b.imageUrls i WHERE b.id IN :ids")
+    List<Object[]> findImageUrlsByBlogIds(@Param("ids") List<Long> ids);
+
     Optional<Blog> findByIdAndIsPublishedTrue(Long id);
     
     boolean existsByIdAndAuthorId(Long id, Long authorId);
+
+    // Suggestion load: (id, title, authorUsername, createdAt) of published blogs after the given id
+    @Query("SELECT b.id, b.title, b.authorUsername, b.createdAt FROM Blog b WHERE b.isPublished = true AND b.id > :afterId ORDER BY b.id")
+    List<Object[]> findPublishedTitlesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Search index rebuild and sync
+    List<Blog> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    List<Blog> findByUpdatedAtAfterOrderByUpdatedAtAscIdAsc(LocalDateTime since, Pageable pageable);
 }
@@ -0,0 +1,27 @@
+package com.blogspot.blog.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Caller identity taken from the verified JWT claims, so the service layer can
+ * authorize requests without calling user-service.
+ */
+@Getter
+@AllArgsConstructor
+public class AuthenticatedUser implements AuthenticatedPrincipal {
+
+    private final Long id;
+    private final String username;
+    private final String role;
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public boolean isAdmin() {
+        return "ADMIN".equals(role);
+    }
+}
@@ -0,0 +1,83 @@
+package com.blogspot.blog.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Splits blogs.content into blog_content on databases created before the content moved out of the
+ * blogs table. Runs during startup, after Hibernate has created blog_content and before requests are
+ * served: rows are copied in id-range batches, skipping blogs that already have content, and the old
+ * column is dropped once every blog has a content row. A no-op once the column is gone.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class BlogContentMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BlogContentMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void migrate() {
+        if (!hasLegacyContentColumn()) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM blogs", Long.class);
+        long copied = 0;
+        for (long from = 0; maxId != null && from < maxId; from += BATCH_SIZE) {
+            try {
+                copied += jdbcTemplate.update(
+                    "INSERT INTO blog_content (blog_id, content) SELECT b.id, COALESCE(b.content, '') FROM blogs b "
+                        + "LEFT JOIN blog_content c ON c.blog_id = b.id WHERE c.blog_id IS NULL AND b.id > ? AND b.id <= ?",
+                    from, from + BATCH_SIZE);
+            } catch (DuplicateKeyException e) {
+                // Another node migrated this batch at the same time
+                log.debug("Blog content batch after id {} already copied", from);
+            }
+        }
+        Integer missing = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM blogs b LEFT JOIN blog_content c ON c.blog_id = b.id WHERE c.blog_id IS NULL",
+            Integer.class);
+        if (missing != null && missing > 0) {
+            // Written meanwhile by a node still on the old schema; copied on the next startup. Until then
+            // the column must accept the rows this node inserts without it.
+            log.warn("{} blogs still have no blog_content row; keeping blogs.content for now", missing);
+            jdbcTemplate.execute("ALTER TABLE blogs MODIFY content TEXT NULL");
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE blogs DROP COLUMN content");
+        log.info("Moved content of {} blogs to blog_content in {} ms", copied, System.currentTimeMillis() - started);
+    }
+
+    private boolean hasLegacyContentColumn() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            // MySQL keeps table names as created, H2 upper-cases them
+            for (String table : List.of("blogs", "BLOGS")) {
+                try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, table, null)) {
+                    while (columns.next()) {
+                        if ("content".equalsIgnoreCase(columns.getString("COLUMN_NAME"))) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }));
+    }
+}
@@ -0,0 +1,368 @@
+package com.blogspot.blog.service;
+
+import com.blogspot.blog.model.Blog;
+import com.blogspot.blog.model.BlogContent;
+import com.blogspot.blog.repository.BlogContentRepository;
+import com.blogspot.blog.repository.BlogRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleHTMLEncoder;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.search.highlight.SimpleSpanFragmenter;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Embedded Lucene index over blog title, summary, content and author, kept in index-dir; the default
+ * search mode (blog.search.mode=index). Text is
+ * tokenized, lower-cased, stop-word filtered and Porter-stemmed; hits are ranked with BM25 (Lucene's
+ * default), with title and summary matches boosted over content. Only blog ids are stored: callers load
+ * the hits from the database and highlight snippets from the loaded content.
+ * <p>
+ * BlogService updates the index after each committed create/update/delete on this node. A scheduled
+ * sync re-indexes blogs whose updated_at moved past the watermark kept in the index's commit data, which
+ * picks up writes made on other nodes and anything lost in a crash before the last commit. Blogs deleted
+ * elsewhere are dropped when a search hit no longer exists in the database. An index without a
+ * watermark is rebuilt from the database in the background at startup; while a rebuild runs
+ * {@link #search} returns empty and callers fall back to the database.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.search.mode", havingValue = "index", matchIfMissing = true)
+@Slf4j
+public class BlogSearchIndex {
+
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String SUMMARY = "summary";
+    private static final String CONTENT = "content";
+    private static final String AUTHOR = "author";
+    private static final String PUBLISHED = "published";
+    private static final String WATERMARK = "synced-to";
+    private static final int BATCH_SIZE = 500;
+    private static final int SNIPPET_CHARS = 160;
+
+    private final BlogRepository blogRepository;
+    private final BlogContentRepository blogContentRepository;
+    private final Path indexDir;
+    private final int maxResults;
+    private final boolean rebuildOnStartup;
+    private final Duration syncOverlap;
+    private final Analyzer analyzer = new EnglishAnalyzer();
+
+    private final AtomicBoolean ready = new AtomicBoolean();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private FSDirectory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private volatile LocalDateTime syncedTo;
+
+    public BlogSearchIndex(BlogRepository blogRepository,
+                           BlogContentRepository blogContentRepository,
+                           @Value("${blog.search.index-dir:./data/search-index}") Path indexDir,
+                           @Value("${blog.search.max-results:1000}") int maxResults,
+                           @Value("${blog.search.rebuild-on-startup:false}") boolean rebuildOnStartup,
+                           @Value("${blog.search.sync-interval:PT1M}") Duration syncInterval) {
+        this.blogRepository = blogRepository;
+        this.blogContentRepository = blogContentRepository;
+        this.indexDir = indexDir;
+        this.maxResults = maxResults;
+        this.rebuildOnStartup = rebuildOnStartup;
+        // Re-read one extra interval so rows whose transactions committed late are not skipped
+        this.syncOverlap = syncInterval;
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        directory = FSDirectory.open(indexDir);
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+            .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, new SearcherFactory());
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (WATERMARK.equals(entry.getKey())) {
+                    syncedTo = LocalDateTime.parse(entry.getValue());
+                }
+            }
+        }
+        ready.set(syncedTo != null && !rebuildOnStartup);
+        log.info("Opened search index at {} with {} documents", indexDir.toAbsolutePath(), writer.getDocStats().numDocs);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfNeeded() {
+        if (!ready.get()) {
+            rebuild();
+        }
+    }
+
+    @Async
+    public void rebuildInBackground() {
+        rebuild();
+    }
+
+    /**
+     * Re-indexes every blog from the database. Searches fall back to the database while it runs.
+     */
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            long started = System.currentTimeMillis();
+            ready.set(false);
+            writer.deleteAll();
+            long indexed = 0;
+            List<Blog> batch = blogRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, BATCH_SIZE));
+            while (!batch.isEmpty()) {
+                indexBatch(batch);
+                indexed += batch.size();
+                batch = blogRepository.findByIdGreaterThanOrderByIdAsc(batch.get(batch.size() - 1).getId(), PageRequest.of(0, BATCH_SIZE));
+            }
+            syncedTo = startedAt;
+            commit();
+            searcherManager.maybeRefresh();
+            ready.set(true);
+            log.info("Rebuilt search index with {} blogs in {} ms", indexed, System.currentTimeMillis() - started);
+        } catch (IOException | RuntimeException e) {
+            log.error("Search index rebuild failed: {}", e.getMessage(), e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Adds or replaces the blog's document. Failures are logged; the next sync repairs the entry.
+     */
+    public void index(Blog blog, String content) {
+        try {
+            writer.updateDocument(new Term(ID, blog.getId().toString()), toDocument(blog, content));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("Failed to index blog {}: {}", blog.getId(), e.getMessage());
+        }
+    }
+
+    public void delete(Long blogId) {
+        delete(List.of(blogId));
+    }
+
+    public void delete(Collection<Long> blogIds) {
+        try {
+            for (Long blogId : blogIds) {
+                writer.deleteDocuments(new Term(ID, blogId.toString()));
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("Failed to remove blogs {} from the search index: {}", blogIds, e.getMessage());
+        }
+    }
+
+    /**
+     * Ranked blog ids for the keyword, skipping offset hits. Empty while the index has not been built yet.
+     * Results are capped at max-results hits, so deep pages past that are empty.
+     */
+    public Optional<SearchHits> search(String keyword, boolean includeUnpublished, int offset, int limit) {
+        if (!ready.get()) {
+            return Optional.empty();
+        }
+        Query textQuery = parse(keyword);
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(textQuery, BooleanClause.Occur.MUST);
+        if (!includeUnpublished) {
+            query.add(new TermQuery(new Term(PUBLISHED, "true")), BooleanClause.Occur.FILTER);
+        }
+        int window = Math.min(offset + limit, maxResults);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query.build(), Math.max(window, 1));
+                List<Long> blogIds = new ArrayList<>(limit);
+                ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+                for (int i = offset; i < scoreDocs.length && i < window; i++) {
+                    blogIds.add(Long.valueOf(searcher.storedFields().document(scoreDocs[i].doc).get(ID)));
+                }
+                long total = Math.min(topDocs.totalHits.value, maxResults);
+                return Optional.of(new SearchHits(blogIds, total, textQuery));
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Search index query failed", e);
+        }
+    }
+
+    /**
+     * The best-matching fragment of the text with matched terms wrapped in {@code <mark>}, HTML-escaped
+     * otherwise; the start of the text when nothing matches.
+     */
+    public String highlight(Query query, String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        QueryScorer scorer = new QueryScorer(query, CONTENT);
+        Highlighter highlighter = new Highlighter(new SimpleHTMLFormatter("<mark>", "</mark>"), new SimpleHTMLEncoder(), scorer);
+        highlighter.setTextFragmenter(new SimpleSpanFragmenter(scorer, SNIPPET_CHARS));
+        try {
+            String fragment = highlighter.getBestFragment(analyzer, CONTENT, text);
+            if (fragment != null) {
+                return fragment;
+            }
+        } catch (IOException | InvalidTokenOffsetsException e) {
+            log.debug("Failed to highlight search hit: {}", e.getMessage());
+        }
+        return SimpleHTMLEncoder.htmlEncode(text.substring(0, Math.min(SNIPPET_CHARS, text.length())));
+    }
+
+    /**
+     * Re-indexes blogs changed since the watermark, including changes made through other nodes.
+     */
+    @Scheduled(fixedDelayString = "${blog.search.sync-interval:PT1M}")
+    public void syncRecent() {
+        if (!ready.get() || rebuilding.get()) {
+            return;
+        }
+        LocalDateTime since = syncedTo.minus(syncOverlap);
+        LocalDateTime latest = syncedTo;
+        try {
+            int page = 0;
+            List<Blog> batch;
+            do {
+                batch = blogRepository.findByUpdatedAtAfterOrderByUpdatedAtAscIdAsc(since, PageRequest.of(page++, BATCH_SIZE));
+                indexBatch(batch);
+                for (Blog blog : batch) {
+                    if (blog.getUpdatedAt().isAfter(latest)) {
+                        latest = blog.getUpdatedAt();
+                    }
+                }
+            } while (batch.size() == BATCH_SIZE);
+            syncedTo = latest;
+            searcherManager.maybeRefresh();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Search index sync failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${blog.search.commit-interval:PT30S}")
+    public void commitIfChanged() {
+        if (writer.hasUncommittedChanges()) {
+            try {
+                commit();
+            } catch (IOException e) {
+                log.warn("Search index commit failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        try {
+            if (ready.get()) {
+                commit();
+            }
+            searcherManager.close();
+        } finally {
+            writer.close();
+            directory.close();
+        }
+    }
+
+    /**
+     * Adds or replaces the documents of a batch of blogs, loading their content in one query.
+     */
+    private void indexBatch(List<Blog> batch) throws IOException {
+        Map<Long, String> contents = blogContentRepository.findAllById(batch.stream().map(Blog::getId).toList()).stream()
+            .collect(Collectors.toMap(BlogContent::getBlogId, BlogContent::getContent));
+        for (Blog blog : batch) {
+            // Blogs indexed by concurrent writes must be replaced, not duplicated
+            writer.updateDocument(new Term(ID, blog.getId().toString()), toDocument(blog, contents.get(blog.getId())));
+        }
+    }
+
+    private void commit() throws IOException {
+        if (syncedTo != null) {
+            writer.setLiveCommitData(Map.of(WATERMARK, syncedTo.toString()).entrySet());
+        }
+        writer.commit();
+    }
+
+    private Query parse(String keyword) {
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(
+            new String[] {TITLE, SUMMARY, CONTENT, AUTHOR}, analyzer,
+            Map.of(TITLE, 3f, SUMMARY, 2f, CONTENT, 1f, AUTHOR, 1f));
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        try {
+            // User input is matched as plain words, never as query syntax
+            return parser.parse(QueryParser.escape(keyword));
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Invalid search keyword", e);
+        }
+    }
+
+    private static Document toDocument(Blog blog, String content) {
+        Document document = new Document();
+        document.add(new StringField(ID, blog.getId().toString(), Field.Store.YES));
+        document.add(new TextField(TITLE, nullToEmpty(blog.getTitle()), Field.Store.NO));
+        document.add(new TextField(SUMMARY, nullToEmpty(blog.getSummary()), Field.Store.NO));
+        document.add(new TextField(CONTENT, nullToEmpty(content), Field.Store.NO));
+        document.add(new TextField(AUTHOR, nullToEmpty(blog.getAuthorUsername()), Field.Store.NO));
+        document.add(new StringField(PUBLISHED, String.valueOf(Boolean.TRUE.equals(blog.getIsPublished())), Field.Store.NO));
+        return document;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    /**
+     * One page of ranked blog ids, the total hit count (capped at max-results), and the parsed
+     * query for {@link #highlight}.
+     */
+    public record SearchHits(List<Long> blogIds, long totalHits, Query query) {}
+}
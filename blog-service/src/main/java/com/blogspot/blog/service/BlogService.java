@@ -1,31 +1,63 @@
 package com.blogspot.blog.service;
 
 import com.blogspot.blog.dto.BlogCreateDto;
+import com.blogspot.blog.dto.BlogFeedPage;
 import com.blogspot.blog.dto.BlogResponseDto;
 import com.blogspot.blog.dto.BlogUpdateDto;
+import com.blogspot.blog.dto.EngagementCountsDto;
+import com.blogspot.blog.dto.SuggestionDto;
 import com.blogspot.blog.dto.UserDto;
 import com.blogspot.blog.exception.BlogNotFoundException;
 import com.blogspot.blog.exception.UnauthorizedAccessException;
 import com.blogspot.blog.model.Blog;
+import com.blogspot.blog.model.BlogContent;
+import com.blogspot.blog.model.BlogDeletion;
+import com.blogspot.blog.repository.BlogContentRepository;
+import com.blogspot.blog.repository.BlogDeletionRepository;
 import com.blogspot.blog.repository.BlogRepository;
+import com.blogspot.blog.security.AuthenticatedUser;
+import com.blogspot.common.util.AfterCommit;
+import com.blogspot.common.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BlogService {
 
+    private static final int MAX_FEED_SIZE = 100;
+    private static final int COUNTS_BATCH_SIZE = 500;
+
     private final BlogRepository blogRepository;
+    private final BlogContentRepository blogContentRepository;
+    private final BlogDeletionRepository blogDeletionRepository;
     private final UserServiceClient userServiceClient;
     private final EngagementServiceClient engagementServiceClient;
     private final NotificationPublisher notificationPublisher;
+    // At most one is present, depending on blog.search.mode (index, fulltext or like)
+    private final ObjectProvider<BlogSearchIndex> searchIndex;
+    private final ObjectProvider<FulltextBlogSearch> fulltextSearch;
+    private final BlogSuggester blogSuggester;
 
     /**
      * Helper method to format the Authorization header properly
@@ -41,6 +73,30 @@ public class BlogService {
         }
         return "Bearer " + cleanToken;
     }
+    /**
+     * Resolves the caller from the verified JWT principal. Falls back to a user-service
+     * profile lookup only for tokens issued before the uid/role claims were added.
+     */
+    private UserDto resolveCurrentUser(String token) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return UserDto.builder()
+                    .id(principal.getId())
+                    .username(principal.getUsername())
+                    .role(principal.getRole())
+                    .build();
+        }
+        String authHeader = formatAuthorizationHeader(token);
+        if (authHeader == null) {
+            return null;
+        }
+        ResponseEntity<UserDto> userResponse = userServiceClient.getUserProfile(authHeader);
+        if (userResponse.getStatusCode().is2xxSuccessful() && userResponse.getBody() != null) {
+            return userResponse.getBody();
+        }
+        return null;
+    }
+
     @Transactional(readOnly = true)
     public Blog findAnyById(Long id) {
         try {
@@ -54,14 +110,11 @@ public class BlogService {
     @Transactional
     public BlogResponseDto createBlog(BlogCreateDto blogCreateDto, String token) {
         try {
-            String authHeader = formatAuthorizationHeader(token);
-            ResponseEntity<UserDto> userResponse = userServiceClient.getUserProfile(authHeader);
-            if (userResponse.getStatusCode().is2xxSuccessful() && userResponse.getBody() != null) {
-                UserDto user = userResponse.getBody();
+            UserDto user = resolveCurrentUser(token);
+            if (user != null) {
                 
                 Blog blog = Blog.builder()
                         .title(blogCreateDto.getTitle())
-                        .content(blogCreateDto.getContent())
                         .summary(blogCreateDto.getSummary())
                         .imageUrls(blogCreateDto.getImageUrls())
                         .authorId(user.getId())
@@ -71,6 +124,10 @@ public class BlogService {
                         .build();
 
                 Blog savedBlog = blogRepository.save(blog);
+                String content = blogCreateDto.getContent();
+                blogContentRepository.save(new BlogContent(savedBlog.getId(), content));
+                AfterCommit.run(() -> searchIndex.ifAvailable(index -> index.index(savedBlog, content)));
+                AfterCommit.run(() -> blogSuggester.onSaved(savedBlog));
                 
                 // Fire-and-forget REST notification (idempotent, retried, circuit-breaker)
                 try {
@@ -84,7 +141,7 @@ public class BlogService {
                     log.warn("Non-blocking failure scheduling REST notification for blog {}: {}", savedBlog.getId(), ex.getMessage());
                 }
                 
-                return convertToResponseDto(savedBlog);
+                return toDetailDto(savedBlog, content);
             } else {
                 throw new UnauthorizedAccessException("Invalid token or user not found");
             }
@@ -94,43 +151,92 @@ public class BlogService {
         }
     }
 
+    /**
+     * withTotal=false returns a Slice: one extra row is fetched instead of running a COUNT query.
+     */
     @Transactional(readOnly = true)
-    public Page<BlogResponseDto> getAllPublishedBlogs(Pageable pageable) {
-        Page<Blog> blogs = blogRepository.findByIsPublishedTrue(pageable);
-        return blogs.map(this::convertToResponseDto);
+    public Slice<BlogResponseDto> getAllPublishedBlogs(Pageable pageable, boolean withTotal) {
+        Slice<Blog> blogs = withTotal
+                ? blogRepository.findByIsPublishedTrue(pageable)
+                : blogRepository.findSliceByIsPublishedTrue(pageable);
+        return toResponseSlice(blogs);
     }
 
     @Transactional(readOnly = true)
-    public Page<BlogResponseDto> getAllBlogs(Pageable pageable, String token) {
+    public Slice<BlogResponseDto> getAllBlogs(Pageable pageable, boolean withTotal, String token) {
         try {
-            String authHeader = formatAuthorizationHeader(token);
-            ResponseEntity<UserDto> userResponse = userServiceClient.getUserProfile(authHeader);
-            if (userResponse.getStatusCode().is2xxSuccessful() && userResponse.getBody() != null) {
-                UserDto user = userResponse.getBody();
+            UserDto user = resolveCurrentUser(token);
+            if (user != null) {
                 if ("ADMIN".equals(user.getRole())) {
                     // Admin can see all blogs (published and unpublished)
-                    Page<Blog> blogs = blogRepository.findAll(pageable);
-                    return blogs.map(this::convertToResponseDto);
+                    Slice<Blog> blogs = withTotal
+                            ? blogRepository.findAll(pageable)
+                            : blogRepository.findAllAsSlice(pageable);
+                    return toResponseSlice(blogs);
                 } else {
                     // Normal users can only see published blogs
-                    return getAllPublishedBlogs(pageable);
+                    return getAllPublishedBlogs(pageable, withTotal);
                 }
             }
-            return getAllPublishedBlogs(pageable);
+            return getAllPublishedBlogs(pageable, withTotal);
         } catch (Exception e) {
             log.error("Error fetching blogs: {}", e.getMessage());
-            return getAllPublishedBlogs(pageable);
+            return getAllPublishedBlogs(pageable, withTotal);
         }
     }
 
+    /**
+     * Newest-first feed of published blogs from an opaque cursor. Each page seeks on (created_at, id),
+     * so it costs the same however deep it is, and no COUNT query runs.
+     */
+    @Transactional(readOnly = true)
+    public BlogFeedPage getPublishedFeed(String cursor, int size) {
+        KeysetCursor before = KeysetCursor.decode(cursor);
+        int limit = clampFeedSize(size);
+        // Fetch one extra row to learn whether another page exists
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<Blog> rows = before == null
+                ? blogRepository.findPublishedFeed(pageable)
+                : blogRepository.findPublishedFeedBefore(before.createdAt(), before.id(), pageable);
+        return toFeedPage(rows, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public BlogFeedPage getFeed(String cursor, int size, String token) {
+        UserDto user = resolveUserQuietly(token);
+        if (user == null || !"ADMIN".equals(user.getRole())) {
+            // Normal users can only see published blogs
+            return getPublishedFeed(cursor, size);
+        }
+        KeysetCursor before = KeysetCursor.decode(cursor);
+        int limit = clampFeedSize(size);
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<Blog> rows = before == null
+                ? blogRepository.findFeed(pageable)
+                : blogRepository.findFeedBefore(before.createdAt(), before.id(), pageable);
+        return toFeedPage(rows, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public BlogFeedPage getAuthorFeed(Long authorId, String cursor, int size, String token) {
+        UserDto user = resolveUserQuietly(token);
+        // Admin can see all blogs by any author, users can see all their own blogs
+        boolean publishedOnly = user == null || !("ADMIN".equals(user.getRole()) || authorId.equals(user.getId()));
+        KeysetCursor before = KeysetCursor.decode(cursor);
+        int limit = clampFeedSize(size);
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<Blog> rows = before == null
+                ? blogRepository.findAuthorFeed(authorId, publishedOnly, pageable)
+                : blogRepository.findAuthorFeedBefore(authorId, publishedOnly, before.createdAt(), before.id(), pageable);
+        return toFeedPage(rows, limit);
+    }
+
     @Transactional(readOnly = true)
     public BlogResponseDto getBlogById(Long id, String token) {
         Blog blog;
         try {
-            String authHeader = formatAuthorizationHeader(token);
-            ResponseEntity<UserDto> userResponse = userServiceClient.getUserProfile(authHeader);
-            if (userResponse.getStatusCode().is2xxSuccessful() && userResponse.getBody() != null) {
-                UserDto user = userResponse.getBody();
+            UserDto user = resolveCurrentUser(token);
+            if (user != null) {
                 if ("ADMIN".equals(user.getRole())) {
                     // Admin can see any blog (published or unpublished)
                     blog = blogRepository.findById(id)
@@ -148,7 +254,7 @@ public class BlogService {
             
             // View count is now handled by engagement-service
             
-            return convertToResponseDto(blog);
+            return toDetailDto(blog, loadContent(id));
         } catch (BlogNotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -158,66 +264,81 @@ public class BlogService {
     }
 
     @Transactional(readOnly = true)
-    public Page<BlogResponseDto> getBlogsByAuthor(Long authorId, Pageable pageable, String token) {
+    public Slice<BlogResponseDto> getBlogsByAuthor(Long authorId, Pageable pageable, boolean withTotal, String token) {
         try {
-            String authHeader = formatAuthorizationHeader(token);
-            ResponseEntity<UserDto> userResponse = userServiceClient.getUserProfile(authHeader);
-            if (userResponse.getStatusCode().is2xxSuccessful() && userResponse.getBody() != null) {
-                UserDto user = userResponse.getBody();
+            UserDto user = resolveCurrentUser(token);
+            if (user != null) {
                 if ("ADMIN".equals(user.getRole()) || user.getId().equals(authorId)) {
                     // Admin can see all blogs by any author, users can see all their own blogs
-                    Page<Blog> blogs = blogRepository.findByAuthorId(authorId, pageable);
-                    return blogs.map(this::convertToResponseDto);
+                    Slice<Blog> blogs = withTotal
+                            ? blogRepository.findByAuthorId(authorId, pageable)
+                            : blogRepository.findSliceByAuthorId(authorId, pageable);
+                    return toResponseSlice(blogs);
                 } else {
                     // Other users can only see published blogs by this author
-                    Page<Blog> blogs = blogRepository.findByAuthorIdAndIsPublishedTrue(authorId, pageable);
-                    return blogs.map(this::convertToResponseDto);
+                    return getPublishedBlogsByAuthor(authorId, pageable, withTotal);
                 }
             }
             // No token - only show published blogs
-            Page<Blog> blogs = blogRepository.findByAuthorIdAndIsPublishedTrue(authorId, pageable);
-            return blogs.map(this::convertToResponseDto);
+            return getPublishedBlogsByAuthor(authorId, pageable, withTotal);
         } catch (Exception e) {
             log.error("Error fetching blogs by author: {}", e.getMessage());
-            Page<Blog> blogs = blogRepository.findByAuthorIdAndIsPublishedTrue(authorId, pageable);
-            return blogs.map(this::convertToResponseDto);
+            return getPublishedBlogsByAuthor(authorId, pageable, withTotal);
         }
     }
 
+    private Slice<BlogResponseDto> getPublishedBlogsByAuthor(Long authorId, Pageable pageable, boolean withTotal) {
+        Slice<Blog> blogs = withTotal
+                ? blogRepository.findByAuthorIdAndIsPublishedTrue(authorId, pageable)
+                : blogRepository.findSliceByAuthorIdAndIsPublishedTrue(authorId, pageable);
+        return toResponseSlice(blogs);
+    }
+
+    /**
+     * Ranked search using the configured blog.search.mode: the embedded index (with highlighted
+     * snippets), MySQL FULLTEXT, or the legacy LIKE scan. The ranked modes fall back to the LIKE scan
+     * while they are unavailable or if a query fails.
+     */
     @Transactional(readOnly = true)
     public Page<BlogResponseDto> searchBlogs(String keyword, Pageable pageable, String token) {
+        boolean includeUnpublished = false;
         try {
-            String authHeader = formatAuthorizationHeader(token);
-            ResponseEntity<UserDto> userResponse = userServiceClient.getUserProfile(authHeader);
-            if (userResponse.getStatusCode().is2xxSuccessful() && userResponse.getBody() != null) {
-                UserDto user = userResponse.getBody();
-                if ("ADMIN".equals(user.getRole())) {
-                    // Admin can search all blogs
-                    Page<Blog> blogs = blogRepository.findByTitleContainingOrContentContaining(keyword, keyword, pageable);
-                    return blogs.map(this::convertToResponseDto);
-                } else {
-                    // Normal users can only search published blogs
-                    Page<Blog> blogs = blogRepository.findByTitleContainingOrContentContainingAndIsPublishedTrue(keyword, keyword, pageable);
-                    return blogs.map(this::convertToResponseDto);
+            UserDto user = resolveCurrentUser(token);
+            // Admin can search all blogs; everyone else only published blogs
+            includeUnpublished = user != null && "ADMIN".equals(user.getRole());
+        } catch (Exception e) {
+            log.error("Error resolving user for search: {}", e.getMessage());
+        }
+        try {
+            BlogSearchIndex index = searchIndex.getIfAvailable();
+            if (index != null) {
+                Optional<BlogSearchIndex.SearchHits> hits = index.search(
+                        keyword, includeUnpublished, (int) pageable.getOffset(), pageable.getPageSize());
+                if (hits.isPresent()) {
+                    return toSearchPage(index, hits.get(), pageable, includeUnpublished);
                 }
             }
-            // No token - only search published blogs
-            Page<Blog> blogs = blogRepository.findByTitleContainingOrContentContainingAndIsPublishedTrue(keyword, keyword, pageable);
-            return blogs.map(this::convertToResponseDto);
-        } catch (Exception e) {
-            log.error("Error searching blogs: {}", e.getMessage());
-            Page<Blog> blogs = blogRepository.findByTitleContainingOrContentContainingAndIsPublishedTrue(keyword, keyword, pageable);
-            return blogs.map(this::convertToResponseDto);
+            FulltextBlogSearch fulltext = fulltextSearch.getIfAvailable();
+            if (fulltext != null) {
+                Optional<Page<Blog>> blogs = fulltext.search(keyword, includeUnpublished, pageable);
+                if (blogs.isPresent()) {
+                    return toResponsePage(blogs.get());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Ranked blog search failed, using LIKE search: {}", e.getMessage());
         }
+        Page<Blog> blogs = includeUnpublished
+                ? blogRepository.findByTitleContainingOrContentContaining(keyword, keyword, pageable)
+                : blogRepository.findByTitleContainingOrContentContainingAndIsPublishedTrue(keyword, keyword, pageable);
+        return toResponsePage(blogs);
     }
 
     @Transactional
     public BlogResponseDto updateBlog(Long id, BlogUpdateDto blogUpdateDto, String token) {
         try {
-            String authHeader = formatAuthorizationHeader(token);
-            ResponseEntity<UserDto> userResponse = userServiceClient.getUserProfile(authHeader);
-            if (userResponse.getStatusCode().is2xxSuccessful() && userResponse.getBody() != null) {
-                UserDto user = userResponse.getBody();
+            UserDto user = resolveCurrentUser(token);
+            if (user != null) {
                 
                 Blog blog = blogRepository.findById(id)
                         .orElseThrow(() -> new BlogNotFoundException(id));
@@ -231,8 +352,13 @@ public class BlogService {
                 if (blogUpdateDto.getTitle() != null) {
                     blog.setTitle(blogUpdateDto.getTitle());
                 }
+                BlogContent blogContent = blogContentRepository.findById(id)
+                        .orElseGet(() -> new BlogContent(id, ""));
                 if (blogUpdateDto.getContent() != null) {
-                    blog.setContent(blogUpdateDto.getContent());
+                    blogContent.setContent(blogUpdateDto.getContent());
+                    blogContentRepository.save(blogContent);
+                    // The blogs row may be otherwise unchanged; updated_at drives the search index sync
+                    blog.setUpdatedAt(LocalDateTime.now());
                 }
                 if (blogUpdateDto.getSummary() != null) {
                     blog.setSummary(blogUpdateDto.getSummary());
@@ -248,7 +374,10 @@ public class BlogService {
                 }
                 
                 Blog updatedBlog = blogRepository.save(blog);
-                return convertToResponseDto(updatedBlog);
+                String content = blogContent.getContent();
+                AfterCommit.run(() -> searchIndex.ifAvailable(index -> index.index(updatedBlog, content)));
+                AfterCommit.run(() -> blogSuggester.onSaved(updatedBlog));
+                return toDetailDto(updatedBlog, content);
             } else {
                 throw new UnauthorizedAccessException("Invalid token or user not found");
             }
@@ -263,10 +392,8 @@ public class BlogService {
     @Transactional
     public void deleteBlog(Long id, String token) {
         try {
-            String authHeader = formatAuthorizationHeader(token);
-            ResponseEntity<UserDto> userResponse = userServiceClient.getUserProfile(authHeader);
-            if (userResponse.getStatusCode().is2xxSuccessful() && userResponse.getBody() != null) {
-                UserDto user = userResponse.getBody();
+            UserDto user = resolveCurrentUser(token);
+            if (user != null) {
                 
                 Blog blog = blogRepository.findById(id)
                         .orElseThrow(() -> new BlogNotFoundException(id));
@@ -276,7 +403,12 @@ public class BlogService {
                     throw new UnauthorizedAccessException("You can only delete your own blogs");
                 }
                 
+                blogContentRepository.deleteById(id);
                 blogRepository.delete(blog);
+                // Lets other nodes drop the blog from their suggestions
+                blogDeletionRepository.save(new BlogDeletion(id, LocalDateTime.now()));
+                AfterCommit.run(() -> searchIndex.ifAvailable(index -> index.delete(id)));
+                AfterCommit.run(() -> blogSuggester.onDeleted(id));
             } else {
                 throw new UnauthorizedAccessException("Invalid token or user not found");
             }
@@ -288,46 +420,202 @@ public class BlogService {
         }
     }
 
-    private BlogResponseDto convertToResponseDto(Blog blog) {
+    /**
+     * Title and author completions for a search box, served from memory.
+     */
+    public List<SuggestionDto> suggest(String prefix, int limit, boolean fuzzy) {
+        return blogSuggester.suggest(prefix, limit, fuzzy).stream()
+                .map(suggestion -> SuggestionDto.builder()
+                        .type(suggestion.type().name())
+                        .text(suggestion.text())
+                        .blogId(suggestion.blogId())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Starts a full rebuild of the search index from the database; returns immediately. Admin only.
+     */
+    public void rebuildSearchIndex(String token) {
+        UserDto user = resolveCurrentUser(token);
+        if (user == null || !"ADMIN".equals(user.getRole())) {
+            throw new UnauthorizedAccessException("Only admins can rebuild the search index");
+        }
+        BlogSearchIndex index = searchIndex.getIfAvailable();
+        if (index == null) {
+            throw new IllegalStateException("The embedded search index is not enabled (blog.search.mode)");
+        }
+        index.rebuildInBackground();
+    }
+
+    /**
+     * Single-blog view, the only response that carries the full content and every image.
+     */
+    private BlogResponseDto toDetailDto(Blog blog, String content) {
+        Map<Long, EngagementCountsDto> counts = fetchEngagementCounts(List.of(blog.getId()));
+        BlogResponseDto dto = convertToResponseDto(blog, counts.get(blog.getId()), null);
+        dto.setContent(content);
+        dto.setImageUrls(blog.getImageUrls());
+        return dto;
+    }
+
+    private String loadContent(Long blogId) {
+        return blogContentRepository.findById(blogId).map(BlogContent::getContent).orElse(null);
+    }
+
+    /**
+     * Maps a slice of blogs using a single batched engagement-service call; a Page stays a Page.
+     */
+    private Slice<BlogResponseDto> toResponseSlice(Slice<Blog> blogs) {
+        List<Long> blogIds = blogs.getContent().stream()
+                .map(Blog::getId)
+                .collect(Collectors.toList());
+        Map<Long, EngagementCountsDto> counts = fetchEngagementCounts(blogIds);
+        Map<Long, String> thumbnails = loadThumbnails(blogIds);
+        return blogs.map(blog -> convertToResponseDto(blog, counts.get(blog.getId()), thumbnails.get(blog.getId())));
+    }
+
+    private BlogFeedPage toFeedPage(List<Blog> rows, int size) {
+        boolean hasMore = rows.size() > size;
+        List<Blog> blogs = hasMore ? rows.subList(0, size) : rows;
+        List<Long> blogIds = blogs.stream().map(Blog::getId).collect(Collectors.toList());
+        Map<Long, EngagementCountsDto> counts = fetchEngagementCounts(blogIds);
+        Map<Long, String> thumbnails = loadThumbnails(blogIds);
+        List<BlogResponseDto> items = blogs.stream()
+                .map(blog -> convertToResponseDto(blog, counts.get(blog.getId()), thumbnails.get(blog.getId())))
+                .collect(Collectors.toList());
+        String nextCursor = null;
+        if (hasMore) {
+            Blog last = blogs.get(blogs.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return BlogFeedPage.builder().items(items).nextCursor(nextCursor).build();
+    }
+
+    private static int clampFeedSize(int size) {
+        return Math.max(1, Math.min(size, MAX_FEED_SIZE));
+    }
+
+    /**
+     * The caller, or null when anonymous or when the lookup fails; feeds then show published blogs only.
+     */
+    private UserDto resolveUserQuietly(String token) {
         try {
-            // Fetch engagement counts from engagement-service
-            Long likeCount = engagementServiceClient.getLikeCount(blog.getId());
-            Long viewCount = engagementServiceClient.getViewCount(blog.getId());
-            Long commentCount = engagementServiceClient.getCommentCount(blog.getId());
-            
-            return BlogResponseDto.builder()
-                    .id(blog.getId())
-                    .title(blog.getTitle())
-                    .content(blog.getContent())
-                    .summary(blog.getSummary())
-                    .authorId(blog.getAuthorId())
-                    .authorUsername(blog.getAuthorUsername())
-                    .createdAt(blog.getCreatedAt())
-                    .updatedAt(blog.getUpdatedAt())
-                    .isPublished(blog.getIsPublished())
-                    .imageUrls(blog.getImageUrls())
-                    .likeCount(likeCount != null ? likeCount.intValue() : 0)
-                    .viewCount(viewCount != null ? viewCount.intValue() : 0)
-                    .commentCount(commentCount != null ? commentCount.intValue() : 0)
-                    .build();
+            return resolveCurrentUser(token);
         } catch (Exception e) {
-            log.warn("Failed to fetch engagement counts for blog {}: {}", blog.getId(), e.getMessage());
-            // Return blog without engagement counts if engagement-service is unavailable
-            return BlogResponseDto.builder()
-                    .id(blog.getId())
-                    .title(blog.getTitle())
-                    .content(blog.getContent())
-                    .summary(blog.getSummary())
-                    .authorId(blog.getAuthorId())
-                    .authorUsername(blog.getAuthorUsername())
-                    .createdAt(blog.getCreatedAt())
-                    .updatedAt(blog.getUpdatedAt())
-                    .isPublished(blog.getIsPublished())
-                    .imageUrls(blog.getImageUrls())
-                    .likeCount(0)
-                    .viewCount(0)
-                    .commentCount(0)
-                    .build();
+            log.error("Error resolving user for feed: {}", e.getMessage());
+            return null;
         }
     }
+
+    /**
+     * Maps a page of blogs using a single batched engagement-service call for the whole page.
+     */
+    private Page<BlogResponseDto> toResponsePage(Page<Blog> blogs) {
+        List<Long> blogIds = blogs.getContent().stream()
+                .map(Blog::getId)
+                .collect(Collectors.toList());
+        Map<Long, EngagementCountsDto> counts = fetchEngagementCounts(blogIds);
+        Map<Long, String> thumbnails = loadThumbnails(blogIds);
+        return blogs.map(blog -> convertToResponseDto(blog, counts.get(blog.getId()), thumbnails.get(blog.getId())));
+    }
+
+    /**
+     * Loads the hits in rank order. Hits that were deleted or unpublished through another node since
+     * they were indexed are skipped; deleted ones are also dropped from the index.
+     */
+    private Page<BlogResponseDto> toSearchPage(BlogSearchIndex index, BlogSearchIndex.SearchHits hits,
+                                               Pageable pageable, boolean includeUnpublished) {
+        Map<Long, Blog> blogsById = blogRepository.findAllById(hits.blogIds()).stream()
+                .collect(Collectors.toMap(Blog::getId, Function.identity()));
+        List<Long> deleted = hits.blogIds().stream()
+                .filter(id -> !blogsById.containsKey(id))
+                .collect(Collectors.toList());
+        if (!deleted.isEmpty()) {
+            index.delete(deleted);
+        }
+        List<Blog> blogs = hits.blogIds().stream()
+                .map(blogsById::get)
+                .filter(blog -> blog != null && (includeUnpublished || Boolean.TRUE.equals(blog.getIsPublished())))
+                .collect(Collectors.toList());
+        List<Long> blogIds = blogs.stream().map(Blog::getId).collect(Collectors.toList());
+        Map<Long, EngagementCountsDto> counts = fetchEngagementCounts(blogIds);
+        Map<Long, String> thumbnails = loadThumbnails(blogIds);
+        // Snippets need the full text, loaded for this page only
+        Map<Long, String> texts = blogContentRepository.findAllById(blogIds).stream()
+                .collect(Collectors.toMap(BlogContent::getBlogId, BlogContent::getContent));
+        List<BlogResponseDto> content = blogs.stream()
+                .map(blog -> {
+                    BlogResponseDto dto = convertToResponseDto(blog, counts.get(blog.getId()), thumbnails.get(blog.getId()));
+                    dto.setHighlight(index.highlight(hits.query(), texts.getOrDefault(blog.getId(), "")));
+                    return dto;
+                })
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, hits.totalHits());
+    }
+
+    private Map<Long, EngagementCountsDto> fetchEngagementCounts(List<Long> blogIds) {
+        Map<Long, EngagementCountsDto> counts = new HashMap<>();
+        if (blogIds.isEmpty()) {
+            return counts;
+        }
+        try {
+            // engagement-service rejects more than COUNTS_BATCH_SIZE ids per request
+            for (int from = 0; from < blogIds.size(); from += COUNTS_BATCH_SIZE) {
+                List<EngagementCountsDto> response = engagementServiceClient.getCounts(
+                        blogIds.subList(from, Math.min(from + COUNTS_BATCH_SIZE, blogIds.size())));
+                if (response != null) {
+                    for (EngagementCountsDto dto : response) {
+                        counts.put(dto.getBlogId(), dto);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            // Return blogs without engagement counts if engagement-service is unavailable
+            log.warn("Failed to fetch engagement counts for blogs {}: {}", blogIds, e.getMessage());
+        }
+        return counts;
+    }
+
+    /**
+     * First non-blank image of each blog, for the whole page in one blog_images query. List views
+     * carry only this thumbnail so the lazy imageUrls collection is never initialized per row.
+     */
+    private Map<Long, String> loadThumbnails(List<Long> blogIds) {
+        Map<Long, String> thumbnails = new HashMap<>();
+        if (blogIds.isEmpty()) {
+            return thumbnails;
+        }
+        for (Object[] row : blogRepository.findImageUrlsByBlogIds(blogIds)) {
+            String url = (String) row[1];
+            if (url != null && !url.isBlank()) {
+                thumbnails.putIfAbsent((Long) row[0], url);
+            }
+        }
+        return thumbnails;
+    }
+
+    /**
+     * List view: content and images are left out, they are only loaded for a single blog.
+     */
+    private BlogResponseDto convertToResponseDto(Blog blog, EngagementCountsDto counts, String thumbnailUrl) {
+        return BlogResponseDto.builder()
+                .id(blog.getId())
+                .title(blog.getTitle())
+                .summary(blog.getSummary())
+                .authorId(blog.getAuthorId())
+                .authorUsername(blog.getAuthorUsername())
+                .createdAt(blog.getCreatedAt())
+                .updatedAt(blog.getUpdatedAt())
+                .isPublished(blog.getIsPublished())
+                .thumbnailUrl(thumbnailUrl)
+                .likeCount(counts != null ? toInt(counts.getLikeCount()) : 0)
+                .viewCount(counts != null ? toInt(counts.getViewCount()) : 0)
+                .commentCount(counts != null ? toInt(counts.getCommentCount()) : 0)
+                .build();
+    }
+
+    private int toInt(Long count) {
+        return count != null ? count.intValue() : 0;
+    }
 }
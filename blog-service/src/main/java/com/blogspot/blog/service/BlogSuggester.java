@@ -0,0 +1,340 @@
+package com.blogspot.blog.service;
+
+import com.blogspot.blog.dto.EngagementCountsDto;
+import com.blogspot.blog.model.Blog;
+import com.blogspot.blog.repository.BlogDeletionRepository;
+import com.blogspot.blog.repository.BlogRepository;
+import com.blogspot.blog.util.RadixTrie;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory autocomplete over published blog titles and author usernames, backed by a {@link RadixTrie}.
+ * Titles are indexed from every word start (up to the first few words), so "boot" completes "Spring Boot
+ * tips". Suggestions rank by recency (blog creation time; an author's latest post) or, with
+ * blog.suggest.rank=popularity, by engagement (likes, comments and views, refreshed on a schedule; an
+ * author's blogs summed). Fuzzy lookups also accept prefixes one edit away.
+ * <p>
+ * Built from the database in the background at startup and kept current by BlogService after each
+ * committed create/update/delete on this node. Changes made through other nodes are picked up by a
+ * periodic sync of blogs updated since the last one (like BlogSearchIndex.syncRecent) and of the
+ * blog_deletions tombstones; an entry is only replaced by a newer version of its blog.
+ */
+@Component
+@Slf4j
+public class BlogSuggester {
+
+    private static final int TOP_K = 20;
+    private static final int MAX_WORDS = 8;
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final int MIN_FUZZY_PREFIX = 3;
+    private static final int BATCH_SIZE = 1000;
+    private static final int COUNTS_BATCH_SIZE = 500;
+
+    private final BlogRepository blogRepository;
+    private final BlogDeletionRepository blogDeletionRepository;
+    private final EngagementServiceClient engagementServiceClient;
+    private final boolean byPopularity;
+    private final Duration syncOverlap;
+    private final Duration deletionRetention;
+
+    private volatile boolean ready;
+    private volatile LocalDateTime syncedTo;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RadixTrie<Suggestion> trie = new RadixTrie<>(
+        Comparator.comparingLong(Suggestion::score).reversed().thenComparing(Suggestion::text), TOP_K);
+    // Guarded by lock
+    private final Map<Long, IndexedBlog> blogs = new HashMap<>();
+    private final Map<String, Map<Long, Long>> scoresByAuthor = new HashMap<>();
+    private final Map<String, Suggestion> authors = new HashMap<>();
+    private final Map<Long, Long> popularity = new HashMap<>();
+
+    public BlogSuggester(BlogRepository blogRepository,
+                         BlogDeletionRepository blogDeletionRepository,
+                         EngagementServiceClient engagementServiceClient,
+                         @Value("${blog.suggest.rank:recency}") String rank,
+                         @Value("${blog.suggest.sync-interval:PT1M}") Duration syncInterval,
+                         @Value("${blog.suggest.deletion-retention:P7D}") Duration deletionRetention) {
+        this.blogRepository = blogRepository;
+        this.blogDeletionRepository = blogDeletionRepository;
+        this.engagementServiceClient = engagementServiceClient;
+        this.byPopularity = "popularity".equalsIgnoreCase(rank);
+        // Re-read one interval back so transactions that committed late are not missed
+        this.syncOverlap = syncInterval;
+        this.deletionRetention = deletionRetention;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.currentTimeMillis();
+        // Changes during the load are caught by the first sync
+        syncedTo = LocalDateTime.now();
+        long loaded = 0;
+        Long afterId = 0L;
+        List<Object[]> batch;
+        do {
+            batch = blogRepository.findPublishedTitlesAfter(afterId, PageRequest.of(0, BATCH_SIZE));
+            lock.writeLock().lock();
+            try {
+                for (Object[] row : batch) {
+                    Long id = (Long) row[0];
+                    // Keep anything indexed by a concurrent write; it is at least as fresh as this row
+                    if (!blogs.containsKey(id)) {
+                        add(id, (String) row[1], (String) row[2], (LocalDateTime) row[3], null);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            loaded += batch.size();
+            if (!batch.isEmpty()) {
+                afterId = (Long) batch.get(batch.size() - 1)[0];
+            }
+        } while (batch.size() == BATCH_SIZE);
+        log.info("Loaded {} blog titles for suggestions in {} ms", loaded, System.currentTimeMillis() - started);
+        ready = true;
+        if (byPopularity) {
+            refreshPopularity();
+        }
+    }
+
+    /**
+     * Applies blogs created, edited, unpublished or deleted since the last sync, including changes made
+     * through other nodes, and purges tombstones older than the retention.
+     */
+    @Scheduled(fixedDelayString = "${blog.suggest.sync-interval:PT1M}", initialDelayString = "${blog.suggest.sync-interval:PT1M}")
+    public void sync() {
+        if (!ready) {
+            return;
+        }
+        LocalDateTime started = LocalDateTime.now();
+        LocalDateTime since = syncedTo.minus(syncOverlap);
+        try {
+            int page = 0;
+            List<Blog> batch;
+            do {
+                batch = blogRepository.findByUpdatedAtAfterOrderByUpdatedAtAscIdAsc(since, PageRequest.of(page++, BATCH_SIZE));
+                batch.forEach(this::onSaved);
+            } while (batch.size() == BATCH_SIZE);
+            blogDeletionRepository.findBlogIdsDeletedAfter(since).forEach(this::onDeleted);
+            syncedTo = started;
+            blogDeletionRepository.deleteOlderThan(started.minus(deletionRetention));
+        } catch (RuntimeException e) {
+            log.warn("Suggestion sync failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Best suggestions for the typed prefix. Fuzzy matching applies from MIN_FUZZY_PREFIX characters on.
+     */
+    public List<Suggestion> suggest(String prefix, int limit, boolean fuzzy) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        int size = Math.max(1, Math.min(limit, TOP_K));
+        lock.readLock().lock();
+        try {
+            return fuzzy && normalized.length() >= MIN_FUZZY_PREFIX
+                ? trie.completeFuzzy(normalized, size)
+                : trie.complete(normalized, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes the blog if published, otherwise drops it; ignored if a newer version is already indexed.
+     */
+    public void onSaved(Blog blog) {
+        lock.writeLock().lock();
+        try {
+            IndexedBlog indexed = blogs.get(blog.getId());
+            if (indexed != null && indexed.updatedAt() != null && blog.getUpdatedAt() != null
+                    && indexed.updatedAt().isAfter(blog.getUpdatedAt())) {
+                return;
+            }
+            remove(blog.getId());
+            if (Boolean.TRUE.equals(blog.getIsPublished())) {
+                add(blog.getId(), blog.getTitle(), blog.getAuthorUsername(), blog.getCreatedAt(), blog.getUpdatedAt());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void onDeleted(Long blogId) {
+        lock.writeLock().lock();
+        try {
+            remove(blogId);
+            popularity.remove(blogId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-scores indexed blogs from engagement counts in batches; only blogs whose score changed are
+     * re-inserted. Skipped unless ranking by popularity.
+     */
+    @Scheduled(fixedDelayString = "${blog.suggest.popularity-refresh:PT10M}", initialDelayString = "${blog.suggest.popularity-refresh:PT10M}")
+    public void refreshPopularity() {
+        if (!byPopularity) {
+            return;
+        }
+        List<Long> ids;
+        lock.readLock().lock();
+        try {
+            ids = new ArrayList<>(blogs.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+        for (int from = 0; from < ids.size(); from += COUNTS_BATCH_SIZE) {
+            List<EngagementCountsDto> counts;
+            try {
+                counts = engagementServiceClient.getCounts(ids.subList(from, Math.min(from + COUNTS_BATCH_SIZE, ids.size())));
+            } catch (Exception e) {
+                log.warn("Failed to refresh suggestion popularity: {}", e.getMessage());
+                return;
+            }
+            if (counts == null) {
+                continue;
+            }
+            lock.writeLock().lock();
+            try {
+                for (EngagementCountsDto dto : counts) {
+                    long score = 5 * orZero(dto.getLikeCount()) + 10 * orZero(dto.getCommentCount()) + orZero(dto.getViewCount());
+                    IndexedBlog indexed = blogs.get(dto.getBlogId());
+                    Long previous = popularity.put(dto.getBlogId(), score);
+                    if (indexed != null && (previous == null || previous != score)) {
+                        remove(dto.getBlogId());
+                        add(dto.getBlogId(), indexed.suggestion().text(), indexed.author(), indexed.createdAt(),
+                            indexed.updatedAt());
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // Callers hold the write lock
+
+    private void add(Long blogId, String title, String author, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        long score = byPopularity
+            ? popularity.getOrDefault(blogId, 0L)
+            : createdAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+        Suggestion suggestion = new Suggestion(Type.TITLE, title, blogId, score);
+        blogs.put(blogId, new IndexedBlog(suggestion, author, createdAt, updatedAt));
+        for (String key : titleKeys(title)) {
+            trie.put(key, suggestion);
+        }
+        scoresByAuthor.computeIfAbsent(author, a -> new HashMap<>()).put(blogId, score);
+        refreshAuthor(author);
+    }
+
+    private void remove(Long blogId) {
+        IndexedBlog indexed = blogs.remove(blogId);
+        if (indexed == null) {
+            return;
+        }
+        for (String key : titleKeys(indexed.suggestion().text())) {
+            trie.remove(key, indexed.suggestion());
+        }
+        Map<Long, Long> scores = scoresByAuthor.get(indexed.author());
+        if (scores != null) {
+            scores.remove(blogId);
+            if (scores.isEmpty()) {
+                scoresByAuthor.remove(indexed.author());
+            }
+        }
+        refreshAuthor(indexed.author());
+    }
+
+    private void refreshAuthor(String author) {
+        Map<Long, Long> scores = scoresByAuthor.get(author);
+        Suggestion current = authors.get(author);
+        Suggestion updated = null;
+        if (scores != null) {
+            long score = byPopularity
+                ? scores.values().stream().mapToLong(Long::longValue).sum()
+                : scores.values().stream().mapToLong(Long::longValue).max().orElse(0);
+            updated = new Suggestion(Type.AUTHOR, author, null, score);
+        }
+        if (updated != null && updated.equals(current)) {
+            return;
+        }
+        String key = truncate(normalize(author));
+        if (current != null) {
+            trie.remove(key, current);
+            authors.remove(author);
+        }
+        if (updated != null && !key.isEmpty()) {
+            trie.put(key, updated);
+            authors.put(author, updated);
+        }
+    }
+
+    private static Set<String> titleKeys(String title) {
+        String[] words = normalize(title).split(" ");
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < words.length && i < MAX_WORDS; i++) {
+            String key = truncate(String.join(" ", Arrays.asList(words).subList(i, words.length)));
+            if (!key.isEmpty()) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Lower-cases and reduces everything but letters and digits to single spaces.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    private static String truncate(String key) {
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    public enum Type { TITLE, AUTHOR }
+
+    /**
+     * A title (with its blog id) or an author username; score is the ranking value.
+     */
+    public record Suggestion(Type type, String text, Long blogId, long score) {}
+
+    // updatedAt is null for entries from the startup load, which any later version replaces
+    private record IndexedBlog(Suggestion suggestion, String author, LocalDateTime createdAt, LocalDateTime updatedAt) {}
+}
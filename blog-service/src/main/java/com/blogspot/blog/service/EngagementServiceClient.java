@@ -1,8 +1,13 @@
 package com.blogspot.blog.service;
 
+import com.blogspot.blog.dto.EngagementCountsDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
 
 @FeignClient(name = "engagement-service")
 public interface EngagementServiceClient {
@@ -15,4 +20,7 @@ public interface EngagementServiceClient {
 
     @GetMapping("/api/engagement/public/blogs/{blogId}/comments/count")
     Long getCommentCount(@PathVariable("blogId") Long blogId);
+
+    @PostMapping("/api/engagement/public/blogs/counts")
+    List<EngagementCountsDto> getCounts(@RequestBody List<Long> blogIds);
 }
@@ -0,0 +1,122 @@
+package com.blogspot.blog.service;
+
+import com.blogspot.blog.model.Blog;
+import com.blogspot.blog.repository.BlogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Relevance-ordered search on MySQL FULLTEXT indexes over blogs(title, summary) and blog_content(content),
+ * enabled with blog.search.mode=fulltext. Hibernate cannot declare FULLTEXT indexes, so they are created
+ * at startup when missing. Natural-language mode ranks documents against the keyword as written; boolean
+ * mode requires every word, matched as a prefix, within either the title and summary or the content. On
+ * other databases (H2 in tests) and until the index
+ * exists, {@link #search} returns empty and callers fall back to the LIKE query.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.search.mode", havingValue = "fulltext")
+@Slf4j
+public class FulltextBlogSearch {
+
+    static final String INDEX_NAME = "ft_blogs_text";
+    static final String CONTENT_INDEX_NAME = "ft_blog_content";
+
+    private final BlogRepository blogRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean booleanMode;
+    private volatile boolean available;
+
+    public FulltextBlogSearch(BlogRepository blogRepository,
+                              JdbcTemplate jdbcTemplate,
+                              @Value("${blog.search.fulltext.boolean-mode:false}") boolean booleanMode) {
+        this.blogRepository = blogRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.booleanMode = booleanMode;
+    }
+
+    /**
+     * Creates the FULLTEXT indexes if they do not exist yet. Building them on a large table takes a while,
+     * so this runs in the background after startup.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndex() {
+        try {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+            if (!"MySQL".equalsIgnoreCase(product)) {
+                log.info("FULLTEXT search is not supported on {}; using LIKE search", product);
+                return;
+            }
+            ensureIndex("blogs", INDEX_NAME, List.of("title", "summary"));
+            ensureIndex("blog_content", CONTENT_INDEX_NAME, List.of("content"));
+            available = true;
+        } catch (RuntimeException e) {
+            log.error("FULLTEXT search unavailable, using LIKE search: {}", e.getMessage());
+        }
+    }
+
+    private void ensureIndex(String table, String name, List<String> columns) {
+        List<String> existing = jdbcTemplate.queryForList(
+            "SELECT column_name FROM information_schema.statistics "
+                + "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ? ORDER BY seq_in_index",
+            String.class, table, name);
+        if (existing.stream().map(column -> column.toLowerCase(Locale.ROOT)).toList().equals(columns)) {
+            return;
+        }
+        if (!existing.isEmpty()) {
+            // Built over other columns, e.g. blogs.content before it moved to blog_content
+            log.info("Dropping FULLTEXT index {} on {} {}", name, table, existing);
+            jdbcTemplate.execute("ALTER TABLE " + table + " DROP INDEX " + name);
+        }
+        log.info("Creating FULLTEXT index {} on {} {}", name, table, columns);
+        jdbcTemplate.execute("ALTER TABLE " + table + " ADD FULLTEXT INDEX " + name + " (" + String.join(", ", columns) + ")");
+    }
+
+    /**
+     * Matching blogs, most relevant first; the pageable's sort is ignored. Empty when FULLTEXT search
+     * is not available.
+     */
+    public Optional<Page<Blog>> search(String keyword, boolean includeUnpublished, Pageable pageable) {
+        if (!available) {
+            return Optional.empty();
+        }
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        if (!booleanMode) {
+            return Optional.of(blogRepository.searchFulltextNatural(keyword, !includeUnpublished, unsorted));
+        }
+        String query = toBooleanQuery(keyword);
+        if (query.isEmpty()) {
+            return Optional.of(Page.empty(pageable));
+        }
+        return Optional.of(blogRepository.searchFulltextBoolean(query, !includeUnpublished, unsorted));
+    }
+
+    /**
+     * "spring boot" becomes "+spring* +boot*". Boolean operators in the input are stripped so user text
+     * never changes the query structure.
+     */
+    static String toBooleanQuery(String keyword) {
+        return Arrays.stream(keyword.toLowerCase(Locale.ROOT).split("\\s+"))
+            .map(word -> word.replaceAll("[+\\-<>()~*\"@]", ""))
+            .filter(word -> !word.isEmpty())
+            .map(word -> "+" + word + "*")
+            .collect(Collectors.joining(" "));
+    }
+}
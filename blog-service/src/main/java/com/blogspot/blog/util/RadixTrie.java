@@ -0,0 +1,251 @@
+package com.blogspot.blog.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Radix (path-compressed) trie from string keys to values, built for top-K prefix completion. Every
+ * node keeps the best {@code topK} values of its subtree, so a prefix lookup costs O(prefix length)
+ * regardless of how many keys share the prefix. Puts and removes refresh those lists along the key's
+ * path only. A value stored under several keys is returned once.
+ * <p>
+ * Not thread-safe; callers synchronize.
+ */
+public class RadixTrie<V> {
+
+    private final Comparator<V> ranking;
+    private final int topK;
+    private final Node<V> root = new Node<>("");
+
+    /**
+     * @param ranking orders values best first
+     * @param topK    most values a lookup can return
+     */
+    public RadixTrie(Comparator<V> ranking, int topK) {
+        this.ranking = ranking;
+        this.topK = topK;
+    }
+
+    public void put(String key, V value) {
+        List<Node<V>> path = new ArrayList<>();
+        Node<V> node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node<V> child = node.children.get(key.charAt(i));
+            if (child == null) {
+                child = new Node<>(key.substring(i));
+                node.children.put(key.charAt(i), child);
+                node = child;
+                path.add(node);
+                i = key.length();
+                break;
+            }
+            int common = commonPrefixLength(child.edge, key, i);
+            if (common < child.edge.length()) {
+                child = split(node, child, common);
+            }
+            node = child;
+            path.add(node);
+            i += common;
+        }
+        if (node.values == null) {
+            node.values = new ArrayList<>(1);
+        }
+        if (!node.values.contains(value)) {
+            node.values.add(value);
+        }
+        for (Node<V> onPath : path) {
+            offer(onPath, value);
+        }
+    }
+
+    /**
+     * Removes the value from the key. Returns false if it was not stored there.
+     */
+    public boolean remove(String key, V value) {
+        List<Node<V>> path = new ArrayList<>();
+        Node<V> node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node<V> child = node.children.get(key.charAt(i));
+            if (child == null || !key.startsWith(child.edge, i)) {
+                return false;
+            }
+            node = child;
+            path.add(node);
+            i += child.edge.length();
+        }
+        if (node.values == null || !node.values.remove(value)) {
+            return false;
+        }
+        if (node.values.isEmpty()) {
+            node.values = null;
+        }
+        // Bottom-up: drop empty leaves, merge pass-through nodes into their only child, refresh top lists
+        for (int depth = path.size() - 1; depth > 0; depth--) {
+            Node<V> current = path.get(depth);
+            Node<V> parent = path.get(depth - 1);
+            if (current.values == null && current.children.isEmpty()) {
+                parent.children.remove(current.edge.charAt(0));
+                continue;
+            }
+            if (current.values == null && current.children.size() == 1) {
+                Node<V> only = current.children.values().iterator().next();
+                only.edge = current.edge + only.edge;
+                parent.children.put(only.edge.charAt(0), only);
+                continue; // only's own top list is unchanged
+            }
+            recomputeTop(current);
+        }
+        recomputeTop(root);
+        return true;
+    }
+
+    /**
+     * Best values under keys starting with the prefix.
+     */
+    public List<V> complete(String prefix, int limit) {
+        Node<V> node = find(prefix);
+        if (node == null) {
+            return List.of();
+        }
+        return new ArrayList<>(node.top.subList(0, Math.min(limit, node.top.size())));
+    }
+
+    /**
+     * Best values under keys starting with the prefix or with any string one edit (substitution,
+     * insertion or deletion) away from it. Exact prefix matches are listed first.
+     */
+    public List<V> completeFuzzy(String prefix, int limit) {
+        Set<Node<V>> matches = new LinkedHashSet<>();
+        walk(root, root.edge.length(), prefix, 0, true, matches);
+        Set<V> result = new LinkedHashSet<>(complete(prefix, limit));
+        List<V> fuzzy = new ArrayList<>();
+        for (Node<V> match : matches) {
+            fuzzy.addAll(match.top);
+        }
+        fuzzy.sort(ranking);
+        for (V value : fuzzy) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(value);
+        }
+        return new ArrayList<>(result);
+    }
+
+    private Node<V> find(String prefix) {
+        Node<V> node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node<V> child = node.children.get(prefix.charAt(i));
+            if (child == null) {
+                return null;
+            }
+            int common = commonPrefixLength(child.edge, prefix, i);
+            if (common < child.edge.length() && i + common < prefix.length()) {
+                return null; // diverges in the middle of the edge
+            }
+            node = child;
+            i += common;
+        }
+        return node;
+    }
+
+    /**
+     * Visits every position reachable by consuming prefix[i..] with at most one edit. A position is a
+     * node plus how far along its incoming edge we are; the subtree below a mid-edge position is the
+     * node's subtree.
+     */
+    private void walk(Node<V> node, int offset, String prefix, int i, boolean editAllowed, Set<Node<V>> out) {
+        if (i == prefix.length()) {
+            out.add(node);
+            return;
+        }
+        if (offset < node.edge.length()) {
+            step(node, offset + 1, node.edge.charAt(offset), prefix, i, editAllowed, out);
+        } else {
+            for (Node<V> child : node.children.values()) {
+                step(child, 1, child.edge.charAt(0), prefix, i, editAllowed, out);
+            }
+        }
+        if (editAllowed) {
+            walk(node, offset, prefix, i + 1, false, out); // prefix has an extra character
+        }
+    }
+
+    private void step(Node<V> next, int nextOffset, char available, String prefix, int i, boolean editAllowed,
+                      Set<Node<V>> out) {
+        if (available == prefix.charAt(i)) {
+            walk(next, nextOffset, prefix, i + 1, editAllowed, out);
+        } else if (editAllowed) {
+            walk(next, nextOffset, prefix, i + 1, false, out); // substitution
+            walk(next, nextOffset, prefix, i, false, out);     // prefix is missing a character
+        }
+    }
+
+    private Node<V> split(Node<V> parent, Node<V> child, int at) {
+        Node<V> middle = new Node<>(child.edge.substring(0, at));
+        child.edge = child.edge.substring(at);
+        middle.children.put(child.edge.charAt(0), child);
+        middle.top = new ArrayList<>(child.top);
+        parent.children.put(middle.edge.charAt(0), middle);
+        return middle;
+    }
+
+    private void offer(Node<V> node, V value) {
+        if (node.top.contains(value)) {
+            return;
+        }
+        int position = 0;
+        while (position < node.top.size() && ranking.compare(node.top.get(position), value) <= 0) {
+            position++;
+        }
+        if (position < topK) {
+            node.top.add(position, value);
+            if (node.top.size() > topK) {
+                node.top.remove(node.top.size() - 1);
+            }
+        }
+    }
+
+    private void recomputeTop(Node<V> node) {
+        Set<V> candidates = new LinkedHashSet<>();
+        if (node.values != null) {
+            candidates.addAll(node.values);
+        }
+        for (Node<V> child : node.children.values()) {
+            candidates.addAll(child.top);
+        }
+        List<V> top = new ArrayList<>(candidates);
+        top.sort(ranking);
+        node.top = top.size() > topK ? new ArrayList<>(top.subList(0, topK)) : top;
+    }
+
+    private static int commonPrefixLength(String edge, String key, int from) {
+        int max = Math.min(edge.length(), key.length() - from);
+        int n = 0;
+        while (n < max && edge.charAt(n) == key.charAt(from + n)) {
+            n++;
+        }
+        return n;
+    }
+
+    private static final class Node<V> {
+        private String edge;
+        private final Map<Character, Node<V>> children = new HashMap<>(4);
+        private List<V> values;
+        private List<V> top = new ArrayList<>(0);
+
+        private Node(String edge) {
+            this.edge = edge;
+        }
+    }
+}
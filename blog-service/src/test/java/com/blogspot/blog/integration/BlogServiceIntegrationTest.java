@@ -3,6 +3,8 @@ package com.blogspot.blog.integration;
 import com.blogspot.blog.dto.BlogCreateDto;
 import com.blogspot.blog.dto.BlogResponseDto;
 import com.blogspot.blog.model.Blog;
+import com.blogspot.blog.model.BlogContent;
+import com.blogspot.blog.repository.BlogContentRepository;
 import com.blogspot.blog.repository.BlogRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,6 +34,9 @@ public class BlogServiceIntegrationTest {
     @Autowired
     private BlogRepository blogRepository;
 
+    @Autowired
+    private BlogContentRepository blogContentRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -40,6 +45,7 @@ public class BlogServiceIntegrationTest {
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        blogContentRepository.deleteAll();
         blogRepository.deleteAll();
     }
 
@@ -48,12 +54,12 @@ public class BlogServiceIntegrationTest {
         // Create a test blog
         Blog blog = Blog.builder()
                 .title("Test Blog")
-                .content("Test Content")
                 .authorId(1L)
                 .authorUsername("testuser")
                 .isPublished(true)
                 .build();
-        blogRepository.save(blog);
+        blog = blogRepository.save(blog);
+        blogContentRepository.save(new BlogContent(blog.getId(), "Test Content"));
 
         // Test the public endpoint
         mockMvc.perform(get("/api/blogs/public"))
@@ -62,6 +68,31 @@ public class BlogServiceIntegrationTest {
                 .andExpect(jsonPath("$.content[0].title").value("Test Blog"));
     }
 
+    @Test
+    void testDetailViewReturnsContentAndImagesButListViewDoesNot() throws Exception {
+        Blog blog = blogRepository.save(Blog.builder()
+                .title("Test Blog")
+                .summary("Short summary")
+                .authorId(1L)
+                .authorUsername("testuser")
+                .isPublished(true)
+                .imageUrls(Arrays.asList("image1", "image2"))
+                .build());
+        blogContentRepository.save(new BlogContent(blog.getId(), "Full body of the test blog"));
+
+        mockMvc.perform(get("/api/blogs/public/" + blog.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").value("Full body of the test blog"))
+                .andExpect(jsonPath("$.imageUrls.length()").value(2));
+
+        mockMvc.perform(get("/api/blogs/public"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].summary").value("Short summary"))
+                .andExpect(jsonPath("$.content[0].content").doesNotExist())
+                .andExpect(jsonPath("$.content[0].thumbnailUrl").value("image1"))
+                .andExpect(jsonPath("$.content[0].imageUrls").doesNotExist());
+    }
+
     @Test
     void testCreateBlogValidation() throws Exception {
         BlogCreateDto blogCreateDto = BlogCreateDto.builder()
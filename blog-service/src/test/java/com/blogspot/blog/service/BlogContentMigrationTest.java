@@ -0,0 +1,104 @@
+package com.blogspot.blog.service;
+
+import com.blogspot.blog.model.BlogContent;
+import com.blogspot.blog.repository.BlogContentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Recreates the schema from before blog_content existed (content as a blogs column) and runs the
+ * startup migration against it.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BlogContentMigrationTest {
+
+    @Autowired
+    private BlogContentMigration migration;
+
+    @Autowired
+    private BlogContentRepository blogContentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        clearTables();
+        jdbcTemplate.execute("ALTER TABLE blogs ADD COLUMN content TEXT");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("ALTER TABLE blogs DROP COLUMN IF EXISTS content");
+        clearTables();
+    }
+
+    @Test
+    void movesExistingContentAndDropsTheColumn() {
+        long first = insertLegacyBlog("First", "Body of the first blog");
+        long second = insertLegacyBlog("Second", null);
+
+        migration.migrate();
+
+        assertEquals("Body of the first blog", contentOf(first));
+        assertEquals("", contentOf(second));
+        assertFalse(hasContentColumn());
+    }
+
+    @Test
+    void keepsContentAlreadyCopiedByAnotherNode() {
+        long blogId = insertLegacyBlog("Edited", "Old body");
+        blogContentRepository.save(new BlogContent(blogId, "New body"));
+
+        migration.migrate();
+
+        assertEquals("New body", contentOf(blogId));
+        assertEquals(1, blogContentRepository.count());
+    }
+
+    @Test
+    void isANoOpOnceTheColumnIsGone() {
+        long blogId = insertLegacyBlog("Only", "Body");
+        migration.migrate();
+
+        migration.migrate();
+
+        assertEquals("Body", contentOf(blogId));
+        assertEquals(1, blogContentRepository.count());
+    }
+
+    private long insertLegacyBlog(String title, String content) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO blogs (title, content, author_id, author_username, created_at, updated_at, is_published) "
+                + "VALUES (?, ?, 1, 'testuser', ?, ?, TRUE)", title, content, now, now);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM blogs", Long.class);
+    }
+
+    private String contentOf(long blogId) {
+        return blogContentRepository.findById(blogId).map(BlogContent::getContent).orElse(null);
+    }
+
+    private boolean hasContentColumn() {
+        Integer columns = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE UPPER(TABLE_NAME) = 'BLOGS' AND UPPER(COLUMN_NAME) = 'CONTENT'", Integer.class);
+        return columns != null && columns > 0;
+    }
+
+    private void clearTables() {
+        jdbcTemplate.update("DELETE FROM blog_content");
+        jdbcTemplate.update("DELETE FROM blog_images");
+        jdbcTemplate.update("DELETE FROM blogs");
+    }
+}
@@ -0,0 +1,95 @@
+package com.blogspot.blog.service;
+
+import com.blogspot.blog.model.Blog;
+import com.blogspot.blog.model.BlogContent;
+import com.blogspot.blog.repository.BlogContentRepository;
+import com.blogspot.blog.repository.BlogRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BlogSearchIndexTest {
+
+    @TempDir
+    Path indexDir;
+
+    private BlogSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        BlogRepository blogRepository = mock(BlogRepository.class);
+        BlogContentRepository blogContentRepository = mock(BlogContentRepository.class);
+        List<Blog> blogs = List.of(
+                blog(1L, "Gardening notes", true),
+                blog(2L, "Running a marathon", true),
+                blog(3L, "Draft about running", false));
+        when(blogRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenReturn(blogs);
+        when(blogRepository.findByIdGreaterThanOrderByIdAsc(eq(3L), any())).thenReturn(List.of());
+        when(blogContentRepository.findAllById(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                new BlogContent(1L, "Notes on running a small garden <b>plot</b>"),
+                new BlogContent(2L, "Training plans for runners"),
+                new BlogContent(3L, "Not published yet")));
+
+        index = new BlogSearchIndex(blogRepository, blogContentRepository, indexDir, 1000, false, Duration.ofMinutes(1));
+        index.open();
+        index.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    void matchesStemmedTermsAndRanksTitleMatchesFirst() {
+        BlogSearchIndex.SearchHits hits = index.search("runs", false, 0, 10).orElseThrow();
+
+        assertEquals(List.of(2L, 1L), hits.blogIds());
+        assertEquals(2, hits.totalHits());
+    }
+
+    @Test
+    void includesUnpublishedBlogsOnlyWhenAsked() {
+        assertEquals(3, index.search("running", true, 0, 10).orElseThrow().totalHits());
+    }
+
+    @Test
+    void reflectsUpdatesAndDeletes() {
+        index.index(blog(1L, "Gardening notes", true), "Nothing about that sport any more");
+        index.delete(2L);
+
+        assertTrue(index.search("running", false, 0, 10).orElseThrow().blogIds().isEmpty());
+    }
+
+    @Test
+    void highlightsMatchesAndEscapesMarkup() {
+        BlogSearchIndex.SearchHits hits = index.search("garden", false, 0, 10).orElseThrow();
+
+        String snippet = index.highlight(hits.query(), "Notes on running a small garden <b>plot</b>");
+
+        assertTrue(snippet.contains("<mark>garden</mark>"));
+        assertTrue(snippet.contains("&lt;b&gt;plot&lt;/b&gt;"));
+    }
+
+    private static Blog blog(Long id, String title, boolean published) {
+        return Blog.builder()
+                .id(id)
+                .title(title)
+                .authorId(1L)
+                .authorUsername("author")
+                .isPublished(published)
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.blogspot.blog.service;
+
+import com.blogspot.blog.model.Blog;
+import com.blogspot.blog.repository.BlogDeletionRepository;
+import com.blogspot.blog.repository.BlogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BlogSuggesterTest {
+
+    private final BlogRepository blogRepository = mock(BlogRepository.class);
+    private final BlogDeletionRepository blogDeletionRepository = mock(BlogDeletionRepository.class);
+    private final LocalDateTime created = LocalDateTime.now().minusDays(1);
+    private BlogSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        suggester = new BlogSuggester(blogRepository, blogDeletionRepository, mock(EngagementServiceClient.class),
+            "recency", Duration.ofMinutes(1), Duration.ofDays(7));
+        when(blogRepository.findPublishedTitlesAfter(eq(0L), any())).thenReturn(List.of(
+            new Object[] {1L, "Spring Boot tips", "alice", created},
+            new Object[] {2L, "Spring cleaning", "bob", created},
+            new Object[] {3L, "Spring recipes", "carol", created}));
+        suggester.load();
+    }
+
+    @Test
+    void syncAppliesRenamesUnpublishesAndDeletesFromOtherNodes() {
+        when(blogRepository.findByUpdatedAtAfterOrderByUpdatedAtAscIdAsc(any(), any())).thenReturn(List.of(
+            blog(1L, "Summer Boot tips", true, LocalDateTime.now()),
+            blog(2L, "Spring cleaning", false, LocalDateTime.now())));
+        when(blogDeletionRepository.findBlogIdsDeletedAfter(any())).thenReturn(List.of(3L));
+
+        suggester.sync();
+
+        assertTrue(titles("spring").isEmpty());
+        assertEquals(List.of("Summer Boot tips"), titles("summer"));
+    }
+
+    @Test
+    void syncDoesNotReplaceANewerLocalWrite() {
+        LocalDateTime now = LocalDateTime.now();
+        suggester.onSaved(blog(1L, "Spring Boot 4 tips", true, now));
+        when(blogRepository.findByUpdatedAtAfterOrderByUpdatedAtAscIdAsc(any(), any())).thenReturn(List.of(
+            blog(1L, "Spring Boot 3 tips", true, now.minusSeconds(30))));
+
+        suggester.sync();
+
+        assertEquals(List.of("Spring Boot 4 tips"), titles("spring boot"));
+    }
+
+    private List<String> titles(String prefix) {
+        return suggester.suggest(prefix, 10, false).stream()
+            .filter(suggestion -> suggestion.type() == BlogSuggester.Type.TITLE)
+            .map(BlogSuggester.Suggestion::text)
+            .toList();
+    }
+
+    private Blog blog(Long id, String title, boolean published, LocalDateTime updatedAt) {
+        return Blog.builder()
+            .id(id)
+            .title(title)
+            .authorUsername("alice")
+            .createdAt(created)
+            .updatedAt(updatedAt)
+            .isPublished(published)
+            .build();
+    }
+}
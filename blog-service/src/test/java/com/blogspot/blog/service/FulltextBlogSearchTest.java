@@ -0,0 +1,18 @@
+package com.blogspot.blog.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FulltextBlogSearchTest {
+
+    @Test
+    void requiresEveryWordAsPrefix() {
+        assertEquals("+spring* +boot*", FulltextBlogSearch.toBooleanQuery("Spring  Boot"));
+    }
+
+    @Test
+    void stripsBooleanOperatorsFromInput() {
+        assertEquals("+java* +nosql*", FulltextBlogSearch.toBooleanQuery("-java \"no+sql\" ~*"));
+    }
+}
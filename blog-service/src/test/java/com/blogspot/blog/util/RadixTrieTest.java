@@ -0,0 +1,50 @@
+package com.blogspot.blog.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RadixTrieTest {
+
+    @Test
+    void completesPrefixesBestFirstUpToLimit() {
+        RadixTrie<Integer> trie = new RadixTrie<>(Comparator.<Integer>reverseOrder(), 3);
+        trie.put("spring boot", 1);
+        trie.put("spring cloud", 5);
+        trie.put("sprint planning", 3);
+        trie.put("kotlin", 9);
+
+        assertEquals(List.of(5, 3, 1), trie.complete("spr", 10));
+        assertEquals(List.of(5, 1), trie.complete("spring", 10));
+        assertEquals(List.of(5), trie.complete("spring c", 10));
+        assertEquals(List.of(), trie.complete("springs", 10));
+    }
+
+    @Test
+    void removalRefreshesTopListsAndKeepsSiblings() {
+        RadixTrie<Integer> trie = new RadixTrie<>(Comparator.<Integer>reverseOrder(), 2);
+        trie.put("java", 10);
+        trie.put("javascript", 8);
+        trie.put("jakarta", 6);
+
+        trie.remove("java", 10);
+
+        assertEquals(List.of(8, 6), trie.complete("ja", 10));
+        assertEquals(List.of(8), trie.complete("java", 10));
+    }
+
+    @Test
+    void fuzzyMatchesOneEditAwayAfterExactMatches() {
+        RadixTrie<String> trie = new RadixTrie<>(Comparator.<String>naturalOrder(), 10);
+        trie.put("spring boot", "spring boot");
+        trie.put("sprint", "sprint");
+        trie.put("kotlin", "kotlin");
+
+        assertEquals(List.of("spring boot"), trie.completeFuzzy("sprimg", 10)); // substitution
+        assertEquals(List.of("kotlin"), trie.completeFuzzy("kotln", 10));       // missing character
+        assertEquals(List.of("spring boot", "sprint"), trie.completeFuzzy("xspr", 10)); // extra character
+    }
+}
@@ -0,0 +1,86 @@
+package com.blogspot.common.security.bench;
+
+import com.blogspot.common.security.JwtVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.security.Key;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests per second that the JWT check of one authenticated request can sustain:
+ * <ul>
+ *   <li>{@code perCallParser}: the old JwtService path, which decoded the secret and built a parser for
+ *   each of extractUsername, isTokenValid and extractExpiration, so three HMAC checks per request;</li>
+ *   <li>{@code verifyUncached}: one check per request with the prebuilt parser and the cache disabled;</li>
+ *   <li>{@code verifyCached}: a token already seen, served from the cache.</li>
+ * </ul>
+ * Build with {@code mvn -f common-security/benchmarks package} after installing common-security,
+ * then run {@code java -jar common-security/benchmarks/target/benchmarks.jar}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "YmU2NjUyYjMyZmMxZTY5ODRmMjU3MDI4YjZkZGNlYjU0Njk5YmU1OTVmN2NmZWIyYjUwNTE4ZGNmYjYxMTBiNg==";
+
+    private JwtVerifier cached;
+    private JwtVerifier uncached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cached = new JwtVerifier(SECRET, 10_000);
+        uncached = new JwtVerifier(SECRET, 0);
+        token = Jwts.builder()
+            .setClaims(Map.of("uid", 42L, "role", "USER"))
+            .setSubject("alice")
+            .setIssuedAt(new Date())
+            .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+            .signWith(cached.getSigningKey(), SignatureAlgorithm.HS256)
+            .compact();
+    }
+
+    @Benchmark
+    public void perCallParser(Blackhole blackhole) {
+        blackhole.consume(parseWithNewParser(token).getSubject());
+        Claims claims = parseWithNewParser(token);
+        blackhole.consume(claims.getSubject().equals("alice") && !claims.getExpiration().before(new Date()));
+        blackhole.consume(parseWithNewParser(token).getExpiration());
+    }
+
+    @Benchmark
+    public String verifyUncached() {
+        return uncached.verify(token).getSubject();
+    }
+
+    @Benchmark
+    public String verifyCached() {
+        return cached.verify(token).getSubject();
+    }
+
+    private static Claims parseWithNewParser(String token) {
+        Key key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET));
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+}
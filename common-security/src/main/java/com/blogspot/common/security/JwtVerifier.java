@@ -0,0 +1,125 @@
+package com.blogspot.common.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Verifies JWTs with a parser and key built once and remembers each verified token until its own
+ * expiry, so a token presented on consecutive requests is only HMAC-checked and parsed once. The
+ * cache is keyed by the SHA-256 digest of the token, so live bearer credentials are not kept in the
+ * heap as map keys. The cached value is an immutable {@link VerifiedToken}, never the parser's
+ * mutable {@link Claims}. When the cache is full, expired tokens go first, then the ones closest to
+ * expiry.
+ * <p>
+ * Services register one instance as a bean, configured from spring.security.oauth2.jwt.secret and
+ * jwt.verification-cache.max-size.
+ */
+public class JwtVerifier {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final int maxCacheSize;
+    private final Map<String, VerifiedToken> cache = new ConcurrentHashMap<>();
+    // Cached digests by expiry, earliest first
+    private final NavigableSet<Expiry> expiries = new ConcurrentSkipListSet<>(
+        Comparator.comparing(Expiry::expiresAt).thenComparing(Expiry::digest));
+
+    /**
+     * A maxCacheSize of 0 disables the cache.
+     */
+    public JwtVerifier(String base64Secret, int maxCacheSize) {
+        this.signingKey = Keys.hmacShaKeyFor(Base64.getDecoder().decode(base64Secret));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.maxCacheSize = maxCacheSize;
+    }
+
+    public Key getSigningKey() {
+        return signingKey;
+    }
+
+    /**
+     * Returns the verified token.
+     * Throws a {@link io.jsonwebtoken.JwtException} if the signature is invalid or the token has expired.
+     */
+    public VerifiedToken verify(String token) {
+        if (maxCacheSize <= 0) {
+            return parse(token);
+        }
+        Instant now = Instant.now();
+        String digest = digest(token);
+        VerifiedToken cached = cache.get(digest);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            remove(digest, cached);
+        }
+
+        VerifiedToken verified = parse(token);
+        // Tokens without exp would never leave the cache on their own
+        if (verified.getExpiresAt() != null) {
+            if (cache.size() >= maxCacheSize) {
+                evict(now);
+            }
+            expiries.add(new Expiry(verified.getExpiresAt(), digest));
+            cache.put(digest, verified);
+        }
+        return verified;
+    }
+
+    private VerifiedToken parse(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Date expiration = claims.getExpiration();
+        return new VerifiedToken(claims.getSubject(), expiration != null ? expiration.toInstant() : null, claims);
+    }
+
+    /**
+     * Drops tokens in expiry order: all expired ones, then unexpired ones until there is room.
+     */
+    private void evict(Instant now) {
+        Expiry earliest;
+        while ((earliest = expiries.pollFirst()) != null) {
+            if (earliest.expiresAt().isAfter(now) && cache.size() < maxCacheSize) {
+                expiries.add(earliest);
+                return;
+            }
+            cache.remove(earliest.digest());
+        }
+    }
+
+    private void remove(String digest, VerifiedToken cached) {
+        if (cache.remove(digest, cached)) {
+            expiries.remove(new Expiry(cached.getExpiresAt(), digest));
+        }
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+
+    private record Expiry(Instant expiresAt, String digest) {}
+}
@@ -0,0 +1,66 @@
+package com.blogspot.common.security;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable result of verifying a JWT: its subject, expiry and a read-only copy of its claims.
+ * Instances are cached and shared between requests, so nothing here can be changed by a caller.
+ */
+public final class VerifiedToken {
+
+    private final String subject;
+    private final Instant expiresAt;
+    private final Map<String, Object> claims;
+
+    public VerifiedToken(String subject, Instant expiresAt, Map<String, Object> claims) {
+        this.subject = subject;
+        this.expiresAt = expiresAt;
+        this.claims = Collections.unmodifiableMap(new LinkedHashMap<>(claims));
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * Null for tokens issued without an exp claim.
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+
+    /**
+     * Returns the claim converted to the requested type, or null if the token does not carry it.
+     * Numeric claims are widened or narrowed as needed, since JSON does not keep Integer and Long apart.
+     * Throws IllegalArgumentException if the claim has an incompatible type.
+     */
+    public <T> T getClaim(String name, Class<T> type) {
+        Object value = claims.get(name);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Number number) {
+            if (type == Long.class) {
+                return type.cast(number.longValue());
+            }
+            if (type == Integer.class) {
+                return type.cast(number.intValue());
+            }
+        }
+        if (!type.isInstance(value)) {
+            throw new IllegalArgumentException("Claim '" + name + "' is not a " + type.getSimpleName());
+        }
+        return type.cast(value);
+    }
+
+    public Map<String, Object> getClaims() {
+        return claims;
+    }
+}
@@ -0,0 +1,89 @@
+package com.blogspot.common.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtVerifierTest {
+
+    private static final String SECRET = "YmU2NjUyYjMyZmMxZTY5ODRmMjU3MDI4YjZkZGNlYjU0Njk5YmU1OTVmN2NmZWIyYjUwNTE4ZGNmYjYxMTBiNg==";
+
+    private final JwtVerifier verifier = new JwtVerifier(SECRET, 100);
+
+    @Test
+    void verifiesOnceAndServesRepeatsFromCache() {
+        String token = token("alice", 60_000);
+
+        VerifiedToken first = verifier.verify(token);
+        VerifiedToken second = verifier.verify(token);
+
+        assertEquals("alice", first.getSubject());
+        assertSame(first, second);
+    }
+
+    @Test
+    void disabledCacheVerifiesEveryTime() {
+        JwtVerifier uncached = new JwtVerifier(SECRET, 0);
+        String token = token("alice", 60_000);
+
+        assertNotSame(uncached.verify(token), uncached.verify(token));
+    }
+
+    @Test
+    void evictsEarliestExpiringTokenWhenFull() {
+        JwtVerifier small = new JwtVerifier(SECRET, 2);
+        String longLived = token("alice", 600_000);
+        String shortLived = token("bob", 60_000);
+        VerifiedToken alice = small.verify(longLived);
+        VerifiedToken bob = small.verify(shortLived);
+
+        small.verify(token("carol", 300_000));
+
+        assertSame(alice, small.verify(longLived));
+        assertNotSame(bob, small.verify(shortLived));
+    }
+
+    @Test
+    void rejectsTamperedAndExpiredTokens() {
+        String token = token("alice", 60_000);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> verifier.verify(tampered));
+        assertThrows(ExpiredJwtException.class, () -> verifier.verify(token("alice", -1_000)));
+    }
+
+    @Test
+    void exposesReadOnlyClaims() {
+        String token = Jwts.builder()
+            .setClaims(Map.of("uid", 42, "role", "ADMIN"))
+            .setSubject("alice")
+            .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+            .signWith(verifier.getSigningKey(), SignatureAlgorithm.HS256)
+            .compact();
+
+        VerifiedToken verified = verifier.verify(token);
+
+        assertEquals(42L, verified.getClaim("uid", Long.class));
+        assertEquals("ADMIN", verified.getClaim("role", String.class));
+        assertThrows(UnsupportedOperationException.class, () -> verified.getClaims().put("role", "USER"));
+        assertThrows(IllegalArgumentException.class, () -> verified.getClaim("role", Long.class));
+    }
+
+    private String token(String subject, long validForMillis) {
+        return Jwts.builder()
+            .setSubject(subject)
+            .setExpiration(new Date(System.currentTimeMillis() + validForMillis))
+            .signWith(verifier.getSigningKey(), SignatureAlgorithm.HS256)
+            .compact();
+    }
+}
@@ -1,6 +1,8 @@
 package com.blogspot.engagement.config;
 
+import com.blogspot.common.security.JwtVerifier;
 import com.blogspot.engagement.security.CustomUserDetailsService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -19,6 +21,10 @@ public class ApplicationConfig {
     public UserDetailsService userDetailsService() {
         return new CustomUserDetailsService();
     }
-}
-
 
+    @Bean
+    public JwtVerifier jwtVerifier(@Value("${spring.security.oauth2.jwt.secret}") String secretKey,
+                                   @Value("${jwt.verification-cache.max-size:10000}") int maxCacheSize) {
+        return new JwtVerifier(secretKey, maxCacheSize);
+    }
+}
@@ -1,17 +1,29 @@
 package com.blogspot.engagement.controller;
 
+import com.blogspot.engagement.dto.CommentDtos.CommentPage;
 import com.blogspot.engagement.dto.CommentDtos.CommentResponse;
 import com.blogspot.engagement.dto.CommentDtos.CreateCommentRequest;
 import com.blogspot.engagement.dto.CommentDtos.UpdateCommentRequest;
+import com.blogspot.engagement.dto.EngagementDtos.BlogCounts;
+import com.blogspot.engagement.dto.EngagementDtos.LikedBlogsPage;
+import com.blogspot.engagement.dto.EngagementDtos.LikerPage;
+import com.blogspot.engagement.dto.EngagementDtos.TrendingBlog;
+import com.blogspot.engagement.dto.EngagementDtos.ViewTimeseries;
 import com.blogspot.engagement.service.EngagementService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/engagement")
@@ -56,6 +68,26 @@ public class EngagementController {
         return ResponseEntity.ok(isLiked);
     }
 
+    @PostMapping("/blogs/likes/status")
+    public ResponseEntity<Map<Long, Boolean>> getLikeStatuses(@RequestBody List<Long> blogIds) {
+        String username = extractUsername();
+        return ResponseEntity.ok(engagementService.getLikeStatuses(blogIds, username));
+    }
+
+    @GetMapping("/blogs/liked-by-me")
+    public ResponseEntity<LikedBlogsPage> getLikedBlogs(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "20") int limit) {
+        String username = extractUsername();
+        return ResponseEntity.ok(engagementService.getLikedBlogs(username, cursor, limit));
+    }
+
+    @GetMapping("/public/blogs/{blogId}/likes")
+    public ResponseEntity<LikerPage> getLikers(@PathVariable Long blogId,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(engagementService.getLikers(blogId, cursor, limit));
+    }
+
     @GetMapping("/public/blogs/{blogId}/likes/count")
     public ResponseEntity<Long> getLikes(@PathVariable Long blogId) {
         return ResponseEntity.ok(engagementService.getLikeCount(blogId));
@@ -68,8 +100,9 @@ public class EngagementController {
                                         @RequestHeader(value = "X-Username", required = false) String usernameHeader) {
         String username = usernameHeader != null ? usernameHeader : extractUsernameNullable();
         String ip = xff != null ? xff : xri;
-        engagementService.recordView(blogId, username, ip);
-        return ResponseEntity.ok().build();
+        boolean queued = engagementService.recordView(blogId, username, ip);
+        // 202: the view is buffered and persisted asynchronously; 503: buffer full, view shed
+        return queued ? ResponseEntity.accepted().build() : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
     }
 
     @GetMapping("/public/blogs/{blogId}/views/count")
@@ -77,6 +110,20 @@ public class EngagementController {
         return ResponseEntity.ok(engagementService.getViewCount(blogId));
     }
 
+    // All-time distinct-viewer estimate; there is no windowed variant
+    @GetMapping("/public/blogs/{blogId}/views/unique")
+    public ResponseEntity<Long> getUniqueViewers(@PathVariable Long blogId) {
+        return ResponseEntity.ok(engagementService.getUniqueViewerCount(blogId));
+    }
+
+    @GetMapping("/public/blogs/{blogId}/views/timeseries")
+    public ResponseEntity<ViewTimeseries> getViewTimeseries(@PathVariable Long blogId,
+                                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                            @RequestParam(defaultValue = "hour") String granularity) {
+        return ResponseEntity.ok(engagementService.getViewTimeseries(blogId, from, to, granularity));
+    }
+
     // Comments
     @PostMapping("/blogs/{blogId}/comments")
     public ResponseEntity<CommentResponse> addComment(@PathVariable Long blogId, @Valid @RequestBody CreateCommentRequest request) {
@@ -107,8 +154,38 @@ public class EngagementController {
     }
 
     @GetMapping("/public/blogs/{blogId}/comments")
-    public ResponseEntity<List<CommentResponse>> getComments(@PathVariable Long blogId) {
-        return ResponseEntity.ok(engagementService.getCommentsTree(blogId));
+    public ResponseEntity<?> getComments(@PathVariable Long blogId,
+                                         @RequestParam(required = false) Integer maxDepth,
+                                         @RequestParam(required = false) Integer maxChildren) {
+        if (maxDepth == null && maxChildren == null) {
+            // Full tree: write the cached JSON as is instead of serializing it per request
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(engagementService.getCommentsTreeJson(blogId));
+        }
+        return ResponseEntity.ok(engagementService.getCommentsTree(blogId, maxDepth, maxChildren));
+    }
+
+    @GetMapping("/public/blogs/{blogId}/comments/page")
+    public ResponseEntity<CommentPage> getCommentPage(@PathVariable Long blogId,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(engagementService.getCommentPage(blogId, cursor, limit));
+    }
+
+    @GetMapping("/public/blogs/{blogId}/comments/{commentId}/replies")
+    public ResponseEntity<CommentPage> getReplyPage(@PathVariable Long blogId, @PathVariable Long commentId,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(engagementService.getReplyPage(blogId, commentId, cursor, limit));
+    }
+
+    @GetMapping("/public/blogs/{blogId}/comments/{commentId}/subtree")
+    public ResponseEntity<CommentResponse> getCommentSubtree(@PathVariable Long blogId, @PathVariable Long commentId) {
+        return ResponseEntity.ok(engagementService.getCommentSubtree(blogId, commentId));
+    }
+
+    @GetMapping("/public/blogs/{blogId}/comments/{commentId}/descendants/count")
+    public ResponseEntity<Long> getDescendantCount(@PathVariable Long blogId, @PathVariable Long commentId) {
+        return ResponseEntity.ok(engagementService.getDescendantCount(blogId, commentId));
     }
 
     @GetMapping("/public/blogs/{blogId}/comments/count")
@@ -116,6 +193,26 @@ public class EngagementController {
         return ResponseEntity.ok(engagementService.getCommentCount(blogId));
     }
 
+    // Aggregates
+    @PostMapping("/public/blogs/counts")
+    public ResponseEntity<List<BlogCounts>> getCounts(@RequestBody List<Long> blogIds) {
+        return ResponseEntity.ok(engagementService.getCounts(blogIds));
+    }
+
+    @GetMapping(value = "/public/blogs/{blogId}/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamLiveCounts(@PathVariable Long blogId) {
+        // 503 when this node already serves its maximum number of streams; clients retry elsewhere or poll
+        return engagementService.subscribeToLiveCounts(blogId)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    @GetMapping("/public/trending")
+    public ResponseEntity<List<TrendingBlog>> getTrending(@RequestParam(defaultValue = "24h") String window,
+                                                          @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(engagementService.getTrending(window, limit));
+    }
+
     private String extractUsername() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || authentication.getName() == null) {
@@ -35,7 +35,7 @@ public class CommentDtos {
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
-    @Builder
+    @Builder(toBuilder = true)
     public static class CommentResponse {
         private Long id;
         private Long blogId;
@@ -44,9 +44,20 @@ public class CommentDtos {
         private Long parentId;
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
+        private Long replyCount; // only populated by the paginated endpoints
         @Builder.Default
         private List<CommentResponse> replies = new ArrayList<>();
     }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CommentPage {
+        @Builder.Default
+        private List<CommentResponse> items = new ArrayList<>();
+        private String nextCursor; // null when there are no more comments
+    }
 }
 
 
@@ -0,0 +1,94 @@
+package com.blogspot.engagement.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class EngagementDtos {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BlogCounts {
+        private Long blogId;
+        private long likeCount;
+        private long viewCount;
+        private long commentCount;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CountsDelta {
+        private Long blogId;
+        private long likes;
+        private long views;
+        private long comments;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ViewTimeseries {
+        private Long blogId;
+        private String granularity;
+        @Builder.Default
+        private List<ViewPoint> points = new ArrayList<>();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ViewPoint {
+        private LocalDateTime bucketStart;
+        private long views;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TrendingBlog {
+        private Long blogId;
+        private double score;
+        private long likes;
+        private long views;
+        private long comments;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class LikedBlogsPage {
+        @Builder.Default
+        private List<Long> blogIds = new ArrayList<>();
+        private String nextCursor; // null when there are no more pages
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Liker {
+        private String username;
+        private LocalDateTime likedAt;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class LikerPage {
+        @Builder.Default
+        private List<Liker> items = new ArrayList<>();
+        private String nextCursor; // null when there are no more likers
+    }
+}
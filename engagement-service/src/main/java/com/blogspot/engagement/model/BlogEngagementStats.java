@@ -0,0 +1,36 @@
+package com.blogspot.engagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Materialized like/view/comment totals per blog, kept in step with the raw tables by
+ * EngagementServiceImpl and repaired periodically by EngagementStatsReconciler.
+ */
+@Entity
+@Table(name = "blog_engagement_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BlogEngagementStats {
+
+    @Id
+    @Column(name = "blog_id")
+    private Long blogId;
+
+    @Column(name = "like_count", nullable = false)
+    private long likeCount;
+
+    @Column(name = "view_count", nullable = false)
+    private long viewCount;
+
+    @Column(name = "comment_count", nullable = false)
+    private long commentCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,29 @@
+package com.blogspot.engagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Serialized HyperLogLog sketch of the distinct viewers of a blog, merged into by every node.
+ */
+@Entity
+@Table(name = "blog_unique_viewers")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BlogUniqueViewers {
+
+    @Id
+    @Column(name = "blog_id")
+    private Long blogId;
+
+    @Column(name = "sketch", nullable = false, columnDefinition = "BLOB")
+    private byte[] sketch;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
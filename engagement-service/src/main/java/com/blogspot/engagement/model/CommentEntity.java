@@ -1,5 +1,6 @@
 package com.blogspot.engagement.model;
 
+import com.blogspot.engagement.util.CommentPath;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -8,7 +9,9 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "comments", indexes = {
     @Index(name = "idx_comments_blog", columnList = "blog_id"),
-    @Index(name = "idx_comments_parent", columnList = "parent_id")
+    @Index(name = "idx_comments_parent", columnList = "parent_id"),
+    @Index(name = "idx_comments_blog_parent_created", columnList = "blog_id, parent_id, created_at, id"),
+    @Index(name = "idx_comments_path", columnList = "path")
 })
 @Getter
 @Setter
@@ -34,6 +37,12 @@ public class CommentEntity {
     @JoinColumn(name = "parent_id")
     private CommentEntity parent; // null for root comments
 
+    @Column(name = "parent_id", insertable = false, updatable = false)
+    private Long parentId; // read-only view of parent's id, avoids touching the lazy association
+
+    @Column(name = "path", length = CommentPath.MAX_LENGTH)
+    private String path; // materialized path, see CommentPath; null until assigned or backfilled
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
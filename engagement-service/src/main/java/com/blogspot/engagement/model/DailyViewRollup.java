@@ -0,0 +1,31 @@
+package com.blogspot.engagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Views per blog per day, aggregated by ViewRollupService.
+ */
+@Entity
+@Table(name = "view_rollups_daily")
+@IdClass(ViewRollupId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyViewRollup {
+
+    @Id
+    @Column(name = "blog_id")
+    private Long blogId;
+
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    @Column(name = "view_count", nullable = false)
+    private long viewCount;
+}
@@ -0,0 +1,50 @@
+package com.blogspot.engagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox entry for a milestone notification: claimed as PENDING in the transaction that crossed the
+ * milestone, marked SENT once the notification was published. The unique key makes each fire once.
+ * Rows from before the outbox have no status and count as sent.
+ */
+@Entity
+@Table(name = "fired_milestones", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_fired_milestone", columnNames = {"blog_id", "milestone_type", "milestone"})
+}, indexes = {
+    @Index(name = "idx_fired_milestones_status", columnList = "status, fired_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FiredMilestone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "blog_id", nullable = false)
+    private Long blogId;
+
+    @Column(name = "milestone_type", nullable = false, length = 16)
+    private String milestoneType;
+
+    @Column(name = "milestone", nullable = false)
+    private long milestone;
+
+    @Column(name = "fired_at", nullable = false)
+    private LocalDateTime firedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 8)
+    private Status status;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    public enum Status { PENDING, SENT }
+}
@@ -8,6 +8,10 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "likes", uniqueConstraints = {
     @UniqueConstraint(name = "uk_like_blog_user", columnNames = {"blog_id", "username"})
+}, indexes = {
+    @Index(name = "idx_likes_username_blog", columnList = "username, blog_id"),
+    // Covering index for the likers keyset pages: filter, order and selected columns are all in the index
+    @Index(name = "idx_likes_blog_created_id_user", columnList = "blog_id, created_at, id, username")
 })
 @Getter
 @Setter
@@ -7,7 +7,9 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "views", indexes = {
-    @Index(name = "idx_views_blog", columnList = "blog_id")
+    // (blog_id, created_at) also serves the per-blog counts that used idx_views_blog
+    @Index(name = "idx_views_blog_created", columnList = "blog_id, created_at"),
+    @Index(name = "idx_views_created", columnList = "created_at")
 })
 @Getter
 @Setter
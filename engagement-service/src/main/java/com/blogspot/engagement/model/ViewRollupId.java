@@ -0,0 +1,17 @@
+package com.blogspot.engagement.model;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Composite key (blog_id, bucket_start) of the view rollup tables.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ViewRollupId implements Serializable {
+    private Long blogId;
+    private LocalDateTime bucketStart;
+}
@@ -0,0 +1,28 @@
+package com.blogspot.engagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Watermark of the view rollups: raw views created before rolledUpTo are counted in the rollup tables.
+ */
+@Entity
+@Table(name = "view_rollup_progress")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ViewRollupProgress {
+
+    public static final String VIEWS = "views";
+
+    @Id
+    @Column(name = "id", length = 32)
+    private String id;
+
+    @Column(name = "rolled_up_to", nullable = false)
+    private LocalDateTime rolledUpTo;
+}
@@ -0,0 +1,75 @@
+package com.blogspot.engagement.repository;
+
+import com.blogspot.engagement.model.BlogEngagementStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BlogEngagementStatsRepository extends JpaRepository<BlogEngagementStats, Long> {
+
+    // Views older than the rollup watermark are counted in view_rollups_daily; raw rows may already be purged
+    String ROLLED_UP_TO = "COALESCE((SELECT p.rolled_up_to FROM view_rollup_progress p WHERE p.id = 'views'), '1970-01-01')";
+
+    // Locks the row until the caller's transaction ends
+    @Query(value = "SELECT like_count, view_count, comment_count FROM blog_engagement_stats WHERE blog_id = :blogId FOR UPDATE",
+           nativeQuery = true)
+    List<Object[]> lockCounts(@Param("blogId") Long blogId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE blog_engagement_stats SET like_count = GREATEST(like_count + :likes, 0), " +
+                   "view_count = GREATEST(view_count + :views, 0), comment_count = GREATEST(comment_count + :comments, 0), " +
+                   "updated_at = NOW() WHERE blog_id = :blogId", nativeQuery = true)
+    int applyDelta(@Param("blogId") Long blogId, @Param("likes") long likes,
+                   @Param("views") long views, @Param("comments") long comments);
+
+    // Seed values for a missing row as a plain, non-locking read. Raw view rows are written asynchronously by
+    // ViewIngestionBuffer and may still be pending in ViewCounterCache, so views come from the rollups only.
+    @Query(value = "SELECT (SELECT COUNT(*) FROM likes WHERE blog_id = :blogId), " +
+                   "(SELECT COALESCE(SUM(d.view_count), 0) FROM view_rollups_daily d WHERE d.blog_id = :blogId), " +
+                   "(SELECT COUNT(*) FROM comments WHERE blog_id = :blogId)", nativeQuery = true)
+    List<Object[]> countRaw(@Param("blogId") Long blogId);
+
+    // Inserts the row, or leaves an existing one unchanged; both take an exclusive lock on it, unlike
+    // INSERT IGNORE, whose shared lock on a duplicate would deadlock with the FOR UPDATE that follows
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO blog_engagement_stats (blog_id, like_count, view_count, comment_count, updated_at) " +
+                   "VALUES (:blogId, :likes, :views, :comments, NOW()) ON DUPLICATE KEY UPDATE blog_id = blog_id",
+           nativeQuery = true)
+    int insertOrLock(@Param("blogId") Long blogId, @Param("likes") long likes,
+                     @Param("views") long views, @Param("comments") long comments);
+
+    // Reconciliation. Backfilled rows get their views from the rollups plus the unrolled raw rows; this is
+    // the only time view_count is derived from the raw tables (see recomputeFromRawCounts).
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO blog_engagement_stats (blog_id, like_count, view_count, comment_count, updated_at) " +
+                   "SELECT ids.blog_id, (SELECT COUNT(*) FROM likes l WHERE l.blog_id = ids.blog_id), " +
+                   "(SELECT COALESCE(SUM(d.view_count), 0) FROM view_rollups_daily d WHERE d.blog_id = ids.blog_id) + " +
+                   "(SELECT COUNT(*) FROM views v WHERE v.blog_id = ids.blog_id AND v.created_at >= " + ROLLED_UP_TO + "), " +
+                   "(SELECT COUNT(*) FROM comments c WHERE c.blog_id = ids.blog_id), NOW() " +
+                   "FROM (SELECT blog_id FROM likes UNION SELECT blog_id FROM views " +
+                   "UNION SELECT blog_id FROM comments UNION SELECT blog_id FROM view_rollups_daily) ids " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM blog_engagement_stats s WHERE s.blog_id = ids.blog_id)", nativeQuery = true)
+    int insertMissingRows();
+
+    @Query("SELECT s.blogId FROM BlogEngagementStats s WHERE s.blogId > :afterBlogId ORDER BY s.blogId ASC")
+    List<Long> findBlogIdsAfter(@Param("afterBlogId") Long afterBlogId, Pageable pageable);
+
+    // view_count is left alone: raw view rows that ViewIngestionBuffer already inserted may still be pending
+    // in a node's ViewCounterCache, and would be added a second time when that cache flushes
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE blog_engagement_stats s SET " +
+                   "s.like_count = (SELECT COUNT(*) FROM likes l WHERE l.blog_id = s.blog_id), " +
+                   "s.comment_count = (SELECT COUNT(*) FROM comments c WHERE c.blog_id = s.blog_id), " +
+                   "s.updated_at = NOW() WHERE s.blog_id IN (:blogIds)", nativeQuery = true)
+    int recomputeFromRawCounts(@Param("blogIds") Collection<Long> blogIds);
+}
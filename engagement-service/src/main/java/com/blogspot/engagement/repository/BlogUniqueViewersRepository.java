@@ -0,0 +1,18 @@
+package com.blogspot.engagement.repository;
+
+import com.blogspot.engagement.model.BlogUniqueViewers;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface BlogUniqueViewersRepository extends JpaRepository<BlogUniqueViewers, Long> {
+
+    // Serializes read-merge-write of the sketch across nodes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM BlogUniqueViewers u WHERE u.blogId = :blogId")
+    Optional<BlogUniqueViewers> findForUpdate(@Param("blogId") Long blogId);
+}
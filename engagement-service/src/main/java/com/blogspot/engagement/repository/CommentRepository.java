@@ -1,10 +1,15 @@
 package com.blogspot.engagement.repository;
 
 import com.blogspot.engagement.model.CommentEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<CommentEntity, Long> {
@@ -13,6 +18,70 @@ public interface CommentRepository extends JpaRepository<CommentEntity, Long> {
     
     @Query("SELECT c FROM CommentEntity c WHERE c.parent.id = :parentId ORDER BY c.createdAt ASC")
     List<CommentEntity> findByParentIdOrderByCreatedAtAsc(@Param("parentId") Long parentId);
-}
 
+    List<CommentEntity> findByBlogIdOrderByCreatedAtAscIdAsc(Long blogId);
+
+    // Keyset pages over idx_comments_blog_parent_created (blog_id, parent_id, created_at, id)
+    @Query("SELECT c FROM CommentEntity c WHERE c.blogId = :blogId AND c.parentId IS NULL " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentEntity> findRootPage(@Param("blogId") Long blogId, Pageable pageable);
+
+    @Query("SELECT c FROM CommentEntity c WHERE c.blogId = :blogId AND c.parentId IS NULL " +
+           "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentEntity> findRootPageAfter(@Param("blogId") Long blogId, @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT c FROM CommentEntity c WHERE c.blogId = :blogId AND c.parentId = :parentId " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentEntity> findReplyPage(@Param("blogId") Long blogId, @Param("parentId") Long parentId, Pageable pageable);
+
+    @Query("SELECT c FROM CommentEntity c WHERE c.blogId = :blogId AND c.parentId = :parentId " +
+           "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentEntity> findReplyPageAfter(@Param("blogId") Long blogId, @Param("parentId") Long parentId,
+                                           @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                           Pageable pageable);
+
+    @Query("SELECT c.parentId, COUNT(c) FROM CommentEntity c WHERE c.parentId IN :parentIds GROUP BY c.parentId")
+    List<Object[]> countRepliesGroupedByParentId(@Param("parentIds") Collection<Long> parentIds);
+
+    @Query("SELECT c.blogId, COUNT(c) FROM CommentEntity c WHERE c.blogId IN :blogIds GROUP BY c.blogId")
+    List<Object[]> countGroupedByBlogId(@Param("blogIds") Collection<Long> blogIds);
+
+    // Subtree operations are single range scans on idx_comments_path; pattern comes from CommentPath.subtreePattern
+    @Query("SELECT c FROM CommentEntity c WHERE c.path LIKE :pattern ORDER BY c.path ASC")
+    List<CommentEntity> findSubtree(@Param("pattern") String pattern);
 
+    @Query("SELECT COUNT(c) FROM CommentEntity c WHERE c.path LIKE :pattern")
+    long countSubtree(@Param("pattern") String pattern);
+
+    // Sets the path of a just-inserted comment without dirtying the entity, which would bump updated_at
+    @Modifying
+    @Query(value = "UPDATE comments SET path = :path WHERE id = :id", nativeQuery = true)
+    int assignPath(@Param("id") Long id, @Param("path") String path);
+
+    boolean existsByBlogIdAndPathIsNull(Long blogId);
+
+    @Query("SELECT c.id FROM CommentEntity c WHERE c.parentId IN :parentIds")
+    List<Long> findIdsByParentIdIn(@Param("parentIds") Collection<Long> parentIds);
+
+    // Deepest paths first so no row is deleted before the replies that reference it
+    @Modifying
+    @Query(value = "DELETE FROM comments WHERE path LIKE :pattern ORDER BY path DESC", nativeQuery = true)
+    int deleteSubtree(@Param("pattern") String pattern);
+
+    // Backfill of paths for comments created before the column existed, one thread level per call
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE comments SET path = CONCAT(LPAD(id, 10, '0'), '/') " +
+                   "WHERE parent_id IS NULL AND path IS NULL", nativeQuery = true)
+    int backfillRootPaths();
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE comments c JOIN comments p ON c.parent_id = p.id " +
+                   "SET c.path = CONCAT(p.path, LPAD(c.id, 10, '0'), '/') " +
+                   "WHERE c.path IS NULL AND p.path IS NOT NULL", nativeQuery = true)
+    int backfillChildPaths();
+}
@@ -0,0 +1,28 @@
+package com.blogspot.engagement.repository;
+
+import com.blogspot.engagement.model.DailyViewRollup;
+import com.blogspot.engagement.model.ViewRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DailyViewRollupRepository extends JpaRepository<DailyViewRollup, ViewRollupId> {
+
+    // Adds the hourly buckets of [from, to) to their days; each hour is rolled up exactly once
+    @Modifying
+    @Query(value = "INSERT INTO view_rollups_daily (blog_id, bucket_start, view_count) " +
+                   "SELECT h.blog_id, TIMESTAMP(DATE(h.bucket_start)) AS bucket, SUM(h.view_count) " +
+                   "FROM view_rollups_hourly h WHERE h.bucket_start >= :from AND h.bucket_start < :to " +
+                   "GROUP BY h.blog_id, bucket " +
+                   "ON DUPLICATE KEY UPDATE view_count = view_count + VALUES(view_count)", nativeQuery = true)
+    int rollUpFromHourly(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT r FROM DailyViewRollup r WHERE r.blogId = :blogId AND r.bucketStart >= :from " +
+           "AND r.bucketStart < :to ORDER BY r.bucketStart ASC")
+    List<DailyViewRollup> findRange(@Param("blogId") Long blogId, @Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to);
+}
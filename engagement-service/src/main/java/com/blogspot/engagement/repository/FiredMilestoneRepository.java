@@ -0,0 +1,36 @@
+package com.blogspot.engagement.repository;
+
+import com.blogspot.engagement.model.FiredMilestone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface FiredMilestoneRepository extends JpaRepository<FiredMilestone, Long> {
+
+    // Records the milestone as PENDING in the caller's transaction, so it commits or rolls back with the
+    // count change. Returns 1 for the first claim of a milestone and 0 for every later one, across all nodes
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO fired_milestones (blog_id, milestone_type, milestone, fired_at, status) " +
+                   "VALUES (:blogId, :milestoneType, :milestone, :firedAt, 'PENDING')", nativeQuery = true)
+    int claim(@Param("blogId") Long blogId, @Param("milestoneType") String milestoneType,
+              @Param("milestone") long milestone, @Param("firedAt") LocalDateTime firedAt);
+
+    Optional<FiredMilestone> findByBlogIdAndMilestoneTypeAndMilestone(Long blogId, String milestoneType, long milestone);
+
+    List<FiredMilestone> findByStatusAndFiredAtBetweenOrderByIdAsc(FiredMilestone.Status status, LocalDateTime from,
+                                                                   LocalDateTime to, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE FiredMilestone f SET f.status = com.blogspot.engagement.model.FiredMilestone.Status.SENT, " +
+           "f.sentAt = :sentAt WHERE f.id = :id")
+    int markSent(@Param("id") Long id, @Param("sentAt") LocalDateTime sentAt);
+}
@@ -0,0 +1,32 @@
+package com.blogspot.engagement.repository;
+
+import com.blogspot.engagement.model.HourlyViewRollup;
+import com.blogspot.engagement.model.ViewRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface HourlyViewRollupRepository extends JpaRepository<HourlyViewRollup, ViewRollupId> {
+
+    @Modifying
+    @Query(value = "INSERT INTO view_rollups_hourly (blog_id, bucket_start, view_count) " +
+                   "SELECT v.blog_id, TIMESTAMP(DATE_FORMAT(v.created_at, '%Y-%m-%d %H:00:00')) AS bucket, COUNT(*) " +
+                   "FROM views v WHERE v.created_at >= :from AND v.created_at < :to GROUP BY v.blog_id, bucket " +
+                   "ON DUPLICATE KEY UPDATE view_count = view_count + VALUES(view_count)", nativeQuery = true)
+    int rollUpFromViews(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT r FROM HourlyViewRollup r WHERE r.blogId = :blogId AND r.bucketStart >= :from " +
+           "AND r.bucketStart < :to ORDER BY r.bucketStart ASC")
+    List<HourlyViewRollup> findRange(@Param("blogId") Long blogId, @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM view_rollups_hourly WHERE bucket_start < :cutoff", nativeQuery = true)
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,14 +1,49 @@
 package com.blogspot.engagement.repository;
 
 import com.blogspot.engagement.model.LikeEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface LikeRepository extends JpaRepository<LikeEntity, Long> {
     long countByBlogId(Long blogId);
     Optional<LikeEntity> findByBlogIdAndUsername(Long blogId, String username);
     boolean existsByBlogIdAndUsername(Long blogId, String username);
-}
 
+    @Query("SELECT l.blogId, COUNT(l) FROM LikeEntity l WHERE l.blogId IN :blogIds GROUP BY l.blogId")
+    List<Object[]> countGroupedByBlogId(@Param("blogIds") Collection<Long> blogIds);
+
+    // Returns 1 if the like was created, 0 if it already existed (uk_like_blog_user)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO likes (blog_id, username, created_at) VALUES (:blogId, :username, :createdAt)",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("blogId") Long blogId, @Param("username") String username,
+                       @Param("createdAt") LocalDateTime createdAt);
+
+    // Returns 1 if a like was removed, 0 if there was none
+    @Modifying
+    @Query(value = "DELETE FROM likes WHERE blog_id = :blogId AND username = :username", nativeQuery = true)
+    int deleteByKey(@Param("blogId") Long blogId, @Param("username") String username);
 
+    // Served by idx_likes_username_blog; loads one user's entry of the liked-blogs index
+    @Query("SELECT l.blogId FROM LikeEntity l WHERE l.username = :username")
+    List<Long> findBlogIdsByUsername(@Param("username") String username);
+
+    // Likers newest first as (id, username, createdAt), read from idx_likes_blog_created_id_user only
+    @Query("SELECT l.id, l.username, l.createdAt FROM LikeEntity l WHERE l.blogId = :blogId " +
+           "ORDER BY l.createdAt DESC, l.id DESC")
+    List<Object[]> findLikerPage(@Param("blogId") Long blogId, Pageable pageable);
+
+    @Query("SELECT l.id, l.username, l.createdAt FROM LikeEntity l WHERE l.blogId = :blogId " +
+           "AND (l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.id < :id)) " +
+           "ORDER BY l.createdAt DESC, l.id DESC")
+    List<Object[]> findLikerPageBefore(@Param("blogId") Long blogId, @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id, Pageable pageable);
+}
@@ -2,9 +2,47 @@ package com.blogspot.engagement.repository;
 
 import com.blogspot.engagement.model.ViewEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface ViewRepository extends JpaRepository<ViewEntity, Long> {
     long countByBlogId(Long blogId);
-}
 
+    @Query("SELECT v.blogId, COUNT(v) FROM ViewEntity v WHERE v.blogId IN :blogIds GROUP BY v.blogId")
+    List<Object[]> countGroupedByBlogId(@Param("blogIds") Collection<Long> blogIds);
+
+    // Total views as blog_engagement_stats counts them: daily rollups plus raw rows not rolled up yet,
+    // so totals do not drop when old raw views are purged
+    String UNROLLED = " AND v.created_at >= " + BlogEngagementStatsRepository.ROLLED_UP_TO;
+
+    @Query(value = "SELECT (SELECT COALESCE(SUM(d.view_count), 0) FROM view_rollups_daily d WHERE d.blog_id = :blogId) + " +
+                   "(SELECT COUNT(*) FROM views v WHERE v.blog_id = :blogId" + UNROLLED + ")", nativeQuery = true)
+    long countTotalByBlogId(@Param("blogId") Long blogId);
 
+    @Query(value = "SELECT t.blog_id, SUM(t.views) FROM (" +
+                   "SELECT d.blog_id, SUM(d.view_count) AS views FROM view_rollups_daily d WHERE d.blog_id IN (:blogIds) GROUP BY d.blog_id " +
+                   "UNION ALL SELECT v.blog_id, COUNT(*) FROM views v WHERE v.blog_id IN (:blogIds)" + UNROLLED + " GROUP BY v.blog_id" +
+                   ") t GROUP BY t.blog_id", nativeQuery = true)
+    List<Object[]> countTotalsGroupedByBlogId(@Param("blogIds") Collection<Long> blogIds);
+
+    @Query("SELECT MIN(v.createdAt) FROM ViewEntity v")
+    LocalDateTime findEarliestCreatedAt();
+
+    // Views not rolled up yet, per hour; bounded by the rollup lateness window
+    @Query(value = "SELECT TIMESTAMP(DATE_FORMAT(v.created_at, '%Y-%m-%d %H:00:00')) AS bucket, COUNT(*) FROM views v " +
+                   "WHERE v.blog_id = :blogId AND v.created_at >= :from AND v.created_at < :to GROUP BY bucket",
+           nativeQuery = true)
+    List<Object[]> countPerHour(@Param("blogId") Long blogId, @Param("from") LocalDateTime from,
+                                @Param("to") LocalDateTime to);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM views WHERE created_at < :cutoff LIMIT :limit", nativeQuery = true)
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
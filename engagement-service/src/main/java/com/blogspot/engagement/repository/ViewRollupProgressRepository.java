@@ -0,0 +1,18 @@
+package com.blogspot.engagement.repository;
+
+import com.blogspot.engagement.model.ViewRollupProgress;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface ViewRollupProgressRepository extends JpaRepository<ViewRollupProgress, String> {
+
+    // Only one node rolls up a given range
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM ViewRollupProgress p WHERE p.id = :id")
+    Optional<ViewRollupProgress> findForUpdate(@Param("id") String id);
+}
@@ -1,31 +1,30 @@
 package com.blogspot.engagement.security;
 
-import io.jsonwebtoken.Claims;
+import com.blogspot.common.security.JwtVerifier;
+import com.blogspot.common.security.VerifiedToken;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
 
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
-    @Value("${spring.security.oauth2.jwt.secret}")
-    private String secretKey;
+    private final JwtVerifier jwtVerifier;
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return extractClaim(token, VerifiedToken::getSubject);
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public <T> T extractClaim(String token, Function<VerifiedToken, T> claimsResolver) {
+        return claimsResolver.apply(extractAllClaims(token));
     }
 
     public String generateToken(String username) {
@@ -38,35 +37,16 @@ public class JwtService {
             .setSubject(username)
             .setIssuedAt(new Date(System.currentTimeMillis()))
             .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 24))
-            .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+            .signWith(jwtVerifier.getSigningKey(), SignatureAlgorithm.HS256)
             .compact();
     }
 
     public boolean isTokenValid(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username)) && !isTokenExpired(token);
+        final VerifiedToken verified = extractAllClaims(token);
+        return verified.getSubject().equals(username) && !verified.isExpired(Instant.now());
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-            .setSigningKey(getSignInKey())
-            .build()
-            .parseClaimsJws(token)
-            .getBody();
-    }
-
-    private Key getSignInKey() {
-        byte[] keyBytes = java.util.Base64.getDecoder().decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private VerifiedToken extractAllClaims(String token) {
+        return jwtVerifier.verify(token);
     }
 }
-
-
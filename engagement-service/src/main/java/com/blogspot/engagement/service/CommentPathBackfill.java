@@ -0,0 +1,37 @@
+package com.blogspot.engagement.service;
+
+import com.blogspot.engagement.repository.CommentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-time migration, run on every startup but a no-op once done: assigns materialized paths to
+ * comments created before comments.path existed. Each statement fills one level of every thread,
+ * so the number of round trips is the depth of the deepest thread.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CommentPathBackfill {
+
+    private final CommentRepository commentRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            int total = commentRepository.backfillRootPaths();
+            int updated;
+            while ((updated = commentRepository.backfillChildPaths()) > 0) {
+                total += updated;
+            }
+            if (total > 0) {
+                log.info("Backfilled materialized paths for {} comments", total);
+            }
+        } catch (Exception e) {
+            log.error("Comment path backfill failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.blogspot.engagement.service;
+
+import com.blogspot.engagement.dto.CommentDtos.CommentResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded cache of full comment trees per blog, holding both the tree and its serialized JSON.
+ * Concurrent misses for a blog share one load. Comment writes on this node invalidate the blog after
+ * commit; the TTL bounds how long other nodes keep serving a tree that changed elsewhere. Cached
+ * trees are shared between requests and must not be modified.
+ */
+@Component
+public class CommentTreeCache {
+
+    private final ObjectMapper objectMapper;
+    private final long ttlMillis;
+    private final int maxBlogs;
+    private final Map<Long, Entry> cache = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer loadTimer;
+
+    public CommentTreeCache(ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${engagement.comments.tree-cache.ttl:PT1M}") Duration ttl,
+                            @Value("${engagement.comments.tree-cache.max-blogs:1000}") int maxBlogs) {
+        this.objectMapper = objectMapper;
+        this.ttlMillis = ttl.toMillis();
+        this.maxBlogs = maxBlogs;
+        this.hits = meterRegistry.counter("engagement.comments.tree_cache", "result", "hit");
+        this.misses = meterRegistry.counter("engagement.comments.tree_cache", "result", "miss");
+        this.loadTimer = meterRegistry.timer("engagement.comments.tree_cache.load");
+        meterRegistry.gaugeMapSize("engagement.comments.tree_cache.size", Tags.empty(), cache);
+        meterRegistry.gauge("engagement.comments.tree_cache.hit_ratio", Tags.empty(), this, CommentTreeCache::hitRatio);
+    }
+
+    public CachedTree get(Long blogId, Supplier<List<CommentResponse>> loader) {
+        while (true) {
+            long now = System.currentTimeMillis();
+            Entry entry = cache.get(blogId);
+            // A load in progress counts as a hit: the caller joins it instead of querying again
+            if (entry != null && (!entry.future().isDone() || entry.expiresAt() > now)) {
+                hits.increment();
+                return join(entry);
+            }
+            Entry created = new Entry(new CompletableFuture<>(), now + ttlMillis);
+            boolean installed = entry == null
+                ? cache.putIfAbsent(blogId, created) == null
+                : cache.replace(blogId, entry, created);
+            if (installed) {
+                misses.increment();
+                load(blogId, created, loader);
+                if (cache.size() > maxBlogs) {
+                    evict(now);
+                }
+                return join(created);
+            }
+        }
+    }
+
+    public void invalidate(Long blogId) {
+        // A load in flight is dropped from the map too, so a tree read before the write is never kept
+        cache.remove(blogId);
+    }
+
+    private void load(Long blogId, Entry entry, Supplier<List<CommentResponse>> loader) {
+        try {
+            CachedTree tree = loadTimer.record(() -> {
+                List<CommentResponse> comments = loader.get();
+                return new CachedTree(comments, serialize(comments));
+            });
+            entry.future().complete(tree);
+        } catch (RuntimeException e) {
+            // Waiters see the failure; the next request retries instead of caching it
+            cache.remove(blogId, entry);
+            entry.future().completeExceptionally(e);
+        }
+    }
+
+    private static CachedTree join(Entry entry) {
+        try {
+            return entry.future().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        }
+    }
+
+    private byte[] serialize(List<CommentResponse> comments) {
+        try {
+            return objectMapper.writeValueAsBytes(comments);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize comment tree", e);
+        }
+    }
+
+    /**
+     * Drops expired trees, then the ones closest to expiry until the cache is back within bounds.
+     */
+    private void evict(long now) {
+        cache.entrySet().removeIf(e -> e.getValue().future().isDone() && e.getValue().expiresAt() <= now);
+        if (cache.size() > maxBlogs) {
+            cache.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().expiresAt()))
+                .limit(cache.size() - maxBlogs)
+                .toList()
+                .forEach(e -> cache.remove(e.getKey(), e.getValue()));
+        }
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    public record CachedTree(List<CommentResponse> comments, byte[] json) {}
+
+    private record Entry(CompletableFuture<CachedTree> future, long expiresAt) {}
+}
@@ -1,10 +1,21 @@
 package com.blogspot.engagement.service;
 
+import com.blogspot.engagement.dto.CommentDtos.CommentPage;
 import com.blogspot.engagement.dto.CommentDtos.CommentResponse;
 import com.blogspot.engagement.dto.CommentDtos.CreateCommentRequest;
 import com.blogspot.engagement.dto.CommentDtos.UpdateCommentRequest;
+import com.blogspot.engagement.dto.EngagementDtos.BlogCounts;
+import com.blogspot.engagement.dto.EngagementDtos.LikedBlogsPage;
+import com.blogspot.engagement.dto.EngagementDtos.LikerPage;
+import com.blogspot.engagement.dto.EngagementDtos.TrendingBlog;
+import com.blogspot.engagement.dto.EngagementDtos.ViewTimeseries;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface EngagementService {
     // Likes
@@ -12,18 +23,34 @@ public interface EngagementService {
     boolean unlikeBlog(Long blogId, String username);
     boolean toggleLike(Long blogId, String username);
     boolean isLiked(Long blogId, String username);
+    Map<Long, Boolean> getLikeStatuses(Collection<Long> blogIds, String username);
+    LikedBlogsPage getLikedBlogs(String username, String cursor, int limit);
+    LikerPage getLikers(Long blogId, String cursor, int limit);
     long getLikeCount(Long blogId);
 
     // Views
-    void recordView(Long blogId, String username, String ipAddress);
+    boolean recordView(Long blogId, String username, String ipAddress);
     long getViewCount(Long blogId);
+    long getUniqueViewerCount(Long blogId);
+    ViewTimeseries getViewTimeseries(Long blogId, LocalDateTime from, LocalDateTime to, String granularity);
 
     // Comments
     CommentResponse addComment(String username, CreateCommentRequest request);
     CommentResponse updateComment(Long commentId, String username, UpdateCommentRequest request);
     void deleteComment(Long commentId, String username);
     List<CommentResponse> getCommentsTree(Long blogId);
+    List<CommentResponse> getCommentsTree(Long blogId, Integer maxDepth, Integer maxChildren);
+    byte[] getCommentsTreeJson(Long blogId);
+    CommentPage getCommentPage(Long blogId, String cursor, int limit);
+    CommentPage getReplyPage(Long blogId, Long parentId, String cursor, int limit);
+    CommentResponse getCommentSubtree(Long blogId, Long commentId);
+    long getDescendantCount(Long blogId, Long commentId);
     long getCommentCount(Long blogId);
+
+    // Aggregates
+    List<BlogCounts> getCounts(Collection<Long> blogIds);
+    Optional<SseEmitter> subscribeToLiveCounts(Long blogId);
+    List<TrendingBlog> getTrending(String window, int limit);
 }
 
 
@@ -1,124 +1,191 @@
 package com.blogspot.engagement.service;
 
+import com.blogspot.common.util.AfterCommit;
+import com.blogspot.common.util.KeysetCursor;
+import com.blogspot.engagement.dto.CommentDtos.CommentPage;
 import com.blogspot.engagement.dto.CommentDtos.CommentResponse;
 import com.blogspot.engagement.dto.CommentDtos.CreateCommentRequest;
 import com.blogspot.engagement.dto.CommentDtos.UpdateCommentRequest;
+import com.blogspot.engagement.dto.EngagementDtos.BlogCounts;
+import com.blogspot.engagement.dto.EngagementDtos.LikedBlogsPage;
+import com.blogspot.engagement.dto.EngagementDtos.Liker;
+import com.blogspot.engagement.dto.EngagementDtos.LikerPage;
+import com.blogspot.engagement.dto.EngagementDtos.TrendingBlog;
+import com.blogspot.engagement.dto.EngagementDtos.ViewTimeseries;
 import com.blogspot.engagement.model.CommentEntity;
-import com.blogspot.engagement.model.LikeEntity;
-import com.blogspot.engagement.model.ViewEntity;
+import com.blogspot.engagement.model.BlogEngagementStats;
+import com.blogspot.engagement.repository.BlogEngagementStatsRepository;
 import com.blogspot.engagement.repository.CommentRepository;
 import com.blogspot.engagement.repository.LikeRepository;
 import com.blogspot.engagement.repository.ViewRepository;
+import com.blogspot.engagement.util.CommentPath;
+import com.blogspot.engagement.util.ViewerKey;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
-
-import lombok.Data;
-import org.springframework.cloud.openfeign.FeignClient;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EngagementServiceImpl implements EngagementService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    // Ids per batch lookup; blog-service sends count requests in batches of this size
+    private static final int MAX_BATCH_IDS = 500;
+
     private final LikeRepository likeRepository;
     private final ViewRepository viewRepository;
     private final CommentRepository commentRepository;
-    private final NotificationPublisher notificationPublisher;
-    private final BlogServiceClient blogServiceClient;
+    private final BlogEngagementStatsRepository statsRepository;
+    private final EngagementStatsWriter statsWriter;
+    private final ViewIngestionBuffer viewIngestionBuffer;
+    private final ViewCounterCache viewCounterCache;
+    private final UniqueViewerCounter uniqueViewerCounter;
+    private final ViewDeduplicator viewDeduplicator;
+    private final ViewRollupService viewRollupService;
+    private final TrendingEngine trendingEngine;
+    private final LikedBlogsIndex likedBlogsIndex;
+    private final CommentTreeCache commentTreeCache;
+    private final LiveCountsHub liveCountsHub;
 
     // Likes
+    // Each like/unlike is one conditional statement; the affected row count tells whether anything changed,
+    // so concurrent clicks never trip uk_like_blog_user
     @Override
     @Transactional
     public boolean likeBlog(Long blogId, String username) {
-        if (likeRepository.existsByBlogIdAndUsername(blogId, username)) {
+        if (likeRepository.insertIfAbsent(blogId, username, LocalDateTime.now()) == 0) {
             return false; // already liked
         }
-        LikeEntity like = LikeEntity.builder()
-            .blogId(blogId)
-            .username(username)
-            .build();
-        likeRepository.save(like);
-        
-        // Check for milestone after saving the like
-        checkAndPublishMilestone(blogId, "LIKES");
-        
+        statsWriter.applyDelta(blogId, 1, 0, 0);
+        AfterCommit.run(() -> liveCountsHub.publish(blogId, 1, 0, 0));
+        likedBlogsIndex.onLiked(username, blogId);
+        AfterCommit.run(() -> trendingEngine.record(blogId, TrendingEngine.Activity.LIKE));
         return true;
     }
 
     @Override
     @Transactional
     public boolean unlikeBlog(Long blogId, String username) {
-        Optional<LikeEntity> existing = likeRepository.findByBlogIdAndUsername(blogId, username);
-        if (existing.isEmpty()) {
+        if (likeRepository.deleteByKey(blogId, username) == 0) {
             return false;
         }
-        likeRepository.delete(existing.get());
+        statsWriter.applyDelta(blogId, -1, 0, 0);
+        AfterCommit.run(() -> liveCountsHub.publish(blogId, -1, 0, 0));
+        likedBlogsIndex.onUnliked(username, blogId);
+        AfterCommit.run(() -> trendingEngine.retract(blogId, TrendingEngine.Activity.LIKE));
         return true;
     }
 
     @Override
     @Transactional
     public boolean toggleLike(Long blogId, String username) {
-        if (likeRepository.existsByBlogIdAndUsername(blogId, username)) {
-            // User has already liked, so unlike
-            Optional<LikeEntity> existing = likeRepository.findByBlogIdAndUsername(blogId, username);
-            if (existing.isPresent()) {
-                likeRepository.delete(existing.get());
-                return false; // unliked
-            }
-        } else {
-            // User hasn't liked, so like
-            LikeEntity like = LikeEntity.builder()
-                .blogId(blogId)
-                .username(username)
-                .build();
-            likeRepository.save(like);
-            
-            // Check for milestone after saving the like
-            checkAndPublishMilestone(blogId, "LIKES");
-            
-            return true; // liked
+        if (unlikeBlog(blogId, username)) {
+            return false; // unliked
         }
-        return false;
+        // Not liked before; if a concurrent request liked it first, the outcome is still "liked"
+        likeBlog(blogId, username);
+        return true; // liked
     }
 
     @Override
     public boolean isLiked(Long blogId, String username) {
-        return likeRepository.existsByBlogIdAndUsername(blogId, username);
+        return likedBlogsIndex.isLiked(username, blogId);
+    }
+
+    @Override
+    public Map<Long, Boolean> getLikeStatuses(Collection<Long> blogIds, String username) {
+        checkBatchSize(blogIds);
+        return likedBlogsIndex.getStatuses(username, blogIds);
+    }
+
+    @Override
+    public LikedBlogsPage getLikedBlogs(String username, String cursor, int limit) {
+        return likedBlogsIndex.getPage(username, cursor, clampPageSize(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LikerPage getLikers(Long blogId, String cursor, int limit) {
+        int size = clampPageSize(limit);
+        KeysetCursor before = KeysetCursor.decode(cursor);
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        Pageable pageable = PageRequest.of(0, size + 1);
+        List<Object[]> rows = before == null
+            ? likeRepository.findLikerPage(blogId, pageable)
+            : likeRepository.findLikerPageBefore(blogId, before.createdAt(), before.id(), pageable);
+
+        boolean hasMore = rows.size() > size;
+        List<Object[]> pageRows = hasMore ? rows.subList(0, size) : rows;
+        List<Liker> items = new ArrayList<>(pageRows.size());
+        for (Object[] row : pageRows) {
+            items.add(new Liker((String) row[1], (LocalDateTime) row[2]));
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            Object[] last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new KeysetCursor((LocalDateTime) last[2], (Long) last[0]).encode();
+        }
+        return LikerPage.builder().items(items).nextCursor(nextCursor).build();
     }
 
     @Override
     public long getLikeCount(Long blogId) {
-        return likeRepository.countByBlogId(blogId);
+        return statsRepository.findById(blogId)
+            .map(BlogEngagementStats::getLikeCount)
+            .orElseGet(() -> likeRepository.countByBlogId(blogId));
     }
 
     // Views
     @Override
-    @Transactional
-    public void recordView(Long blogId, String username, String ipAddress) {
-        ViewEntity view = ViewEntity.builder()
-            .blogId(blogId)
-            .username(username)
-            .ipAddress(ipAddress)
-            .build();
-        viewRepository.save(view);
-        // Check for milestone after recording the view
-        checkAndPublishMilestone(blogId, "VIEWS");
+    public boolean recordView(Long blogId, String username, String ipAddress) {
+        String viewerKey = ViewerKey.of(username, ipAddress);
+        if (!viewDeduplicator.isFirstView(blogId, viewerKey)) {
+            return true; // repeat view within the dedup window: acknowledged, not recorded
+        }
+        // Rows are persisted asynchronously in batches; the counter and milestones are flushed by ViewCounterCache
+        if (!viewIngestionBuffer.enqueue(blogId, username, ipAddress)) {
+            return false; // shed; not marked as seen, so the client's retry is recorded
+        }
+        viewDeduplicator.markViewed(blogId, viewerKey);
+        viewCounterCache.increment(blogId);
+        liveCountsHub.publish(blogId, 0, 1, 0);
+        uniqueViewerCounter.record(blogId, viewerKey);
+        trendingEngine.record(blogId, TrendingEngine.Activity.VIEW);
+        return true;
     }
 
     @Override
     public long getViewCount(Long blogId) {
-        return viewRepository.countByBlogId(blogId);
+        return viewCounterCache.getViewCount(blogId);
+    }
+
+    @Override
+    public long getUniqueViewerCount(Long blogId) {
+        return uniqueViewerCounter.estimate(blogId);
+    }
+
+    @Override
+    public ViewTimeseries getViewTimeseries(Long blogId, LocalDateTime from, LocalDateTime to, String granularity) {
+        return viewRollupService.getTimeseries(blogId, from, to, granularity);
     }
 
     // Comments
@@ -137,9 +204,15 @@ public class EngagementServiceImpl implements EngagementService {
             .parent(parent)
             .build();
         CommentEntity saved = commentRepository.save(entity);
-        // Check for milestone after saving the comment
-        checkAndPublishMilestone(request.getBlogId(), "COMMENTS");
-        return toResponse(saved, true);
+        // The path needs the generated id; a parent still awaiting backfill leaves it to CommentPathBackfill
+        if (parent == null || parent.getPath() != null) {
+            commentRepository.assignPath(saved.getId(), CommentPath.of(parent != null ? parent.getPath() : null, saved.getId()));
+        }
+        statsWriter.applyDelta(request.getBlogId(), 0, 0, 1);
+        AfterCommit.run(() -> liveCountsHub.publish(request.getBlogId(), 0, 0, 1));
+        AfterCommit.run(() -> trendingEngine.record(request.getBlogId(), TrendingEngine.Activity.COMMENT));
+        AfterCommit.run(() -> commentTreeCache.invalidate(request.getBlogId()));
+        return toResponse(saved);
     }
 
     @Override
@@ -152,7 +225,8 @@ public class EngagementServiceImpl implements EngagementService {
         }
         entity.setContent(request.getContent());
         CommentEntity saved = commentRepository.save(entity);
-        return toResponse(saved, true);
+        AfterCommit.run(() -> commentTreeCache.invalidate(entity.getBlogId()));
+        return toResponse(saved);
     }
 
     @Override
@@ -163,124 +237,315 @@ public class EngagementServiceImpl implements EngagementService {
         if (!entity.getUsername().equals(username)) {
             throw new SecurityException("You can only delete your own comments");
         }
-        commentRepository.delete(entity);
+        AfterCommit.run(() -> commentTreeCache.invalidate(entity.getBlogId()));
+        int removed;
+        if (entity.getPath() == null || commentRepository.existsByBlogIdAndPathIsNull(entity.getBlogId())) {
+            // Replies still awaiting CommentPathBackfill would be missed by the path range and break parent_id
+            removed = deleteByParentLinks(entity.getId());
+        } else {
+            // Removes the comment and all of its replies in one statement
+            removed = commentRepository.deleteSubtree(CommentPath.subtreePattern(entity.getPath()));
+        }
+        statsWriter.applyDelta(entity.getBlogId(), 0, 0, -removed);
+        AfterCommit.run(() -> liveCountsHub.publish(entity.getBlogId(), 0, 0, -removed));
     }
 
+    /**
+     * Deletes a comment and its replies found level by level through parent_id, deepest level first.
+     * Used only while some comments of the blog have no path yet.
+     */
+    private int deleteByParentLinks(Long commentId) {
+        List<List<Long>> levels = new ArrayList<>();
+        List<Long> level = List.of(commentId);
+        while (!level.isEmpty()) {
+            levels.add(level);
+            level = commentRepository.findIdsByParentIdIn(level);
+        }
+        int removed = 0;
+        for (int depth = levels.size() - 1; depth >= 0; depth--) {
+            commentRepository.deleteAllByIdInBatch(levels.get(depth));
+            removed += levels.get(depth).size();
+        }
+        return removed;
+    }
+
+    /**
+     * The comment with all of its replies nested, loaded with one range query on the materialized path.
+     */
     @Override
     @Transactional(readOnly = true)
-    public List<CommentResponse> getCommentsTree(Long blogId) {
-        List<CommentEntity> roots = commentRepository.findByBlogIdAndParentIsNullOrderByCreatedAtAsc(blogId);
-        return roots.stream()
-            .map(root -> toResponse(root, true))
-            .collect(Collectors.toList());
+    public CommentResponse getCommentSubtree(Long blogId, Long commentId) {
+        CommentEntity root = commentRepository.findById(commentId)
+            .filter(comment -> comment.getBlogId().equals(blogId))
+            .orElseThrow(() -> new EntityNotFoundException("Comment not found"));
+        if (root.getPath() == null) {
+            return findInTree(getCommentsTree(blogId), commentId); // path not backfilled yet
+        }
+
+        // Path order puts every parent before its replies, and replies in id (creation) order
+        Map<Long, CommentResponse> byId = new HashMap<>();
+        CommentResponse rootResponse = null;
+        for (CommentEntity comment : commentRepository.findSubtree(CommentPath.subtreePattern(root.getPath()))) {
+            CommentResponse response = toResponse(comment);
+            byId.put(comment.getId(), response);
+            if (comment.getId().equals(commentId)) {
+                rootResponse = response;
+            } else {
+                CommentResponse parent = byId.get(response.getParentId());
+                if (parent != null) {
+                    parent.getReplies().add(response);
+                }
+            }
+        }
+        return rootResponse;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public long getCommentCount(Long blogId) {
-        return commentRepository.countByBlogId(blogId);
+    public long getDescendantCount(Long blogId, Long commentId) {
+        CommentEntity comment = commentRepository.findById(commentId)
+            .filter(found -> found.getBlogId().equals(blogId))
+            .orElseThrow(() -> new EntityNotFoundException("Comment not found"));
+        if (comment.getPath() == null) {
+            // Path not backfilled yet: count the replies of the in-memory thread instead
+            long count = -1;
+            Deque<CommentResponse> pending = new ArrayDeque<>(List.of(findInTree(getCommentsTree(blogId), commentId)));
+            while (!pending.isEmpty()) {
+                pending.addAll(pending.pop().getReplies());
+                count++;
+            }
+            return count;
+        }
+        // The pattern also matches the comment itself
+        return commentRepository.countSubtree(CommentPath.subtreePattern(comment.getPath())) - 1;
     }
 
-    private CommentResponse toResponse(CommentEntity entity, boolean includeReplies) {
-        CommentResponse response = CommentResponse.builder()
-            .id(entity.getId())
-            .blogId(entity.getBlogId())
-            .username(entity.getUsername())
-            .content(entity.getContent())
-            .parentId(entity.getParent() != null ? entity.getParent().getId() : null)
-            .createdAt(entity.getCreatedAt())
-            .updatedAt(entity.getUpdatedAt())
-            .build();
-        if (includeReplies) {
-            List<CommentEntity> children = commentRepository.findByParentIdOrderByCreatedAtAsc(entity.getId());
-            List<CommentResponse> childResponses = new ArrayList<>();
-            for (CommentEntity child : children) {
-                childResponses.add(toResponse(child, true));
-            }
-            response.setReplies(childResponses);
+    @Override
+    public List<CommentResponse> getCommentsTree(Long blogId) {
+        return getCommentsTree(blogId, null, null);
+    }
+
+    /**
+     * Full trees come from CommentTreeCache and are shared: the unpruned result must not be modified.
+     * maxDepth (roots are depth 0) and maxChildren cap the replies kept per node in a pruned copy;
+     * null means unlimited.
+     */
+    @Override
+    public List<CommentResponse> getCommentsTree(Long blogId, Integer maxDepth, Integer maxChildren) {
+        List<CommentResponse> roots = commentTreeCache.get(blogId, () -> loadCommentsTree(blogId)).comments();
+        if (maxDepth != null || maxChildren != null) {
+            return prunedCopy(roots, maxDepth, maxChildren);
         }
-        return response;
+        return roots;
+    }
+
+    @Override
+    public byte[] getCommentsTreeJson(Long blogId) {
+        return commentTreeCache.get(blogId, () -> loadCommentsTree(blogId)).json();
     }
 
     /**
-     * Checks if the current count is a milestone and publishes an event if it is.
-     * Milestones are: 10, 50, 100, 500, 1000, etc.
+     * Loads every comment of the blog in one ordered query and links them into a tree in memory.
      */
-    private void checkAndPublishMilestone(Long blogId, String milestoneType) {
-        try {
-            long count = 0;
-            if ("LIKES".equals(milestoneType)) {
-                count = getLikeCount(blogId);
-            } else if ("COMMENTS".equals(milestoneType)) {
-                count = getCommentCount(blogId);
-            } else if ("VIEWS".equals(milestoneType)) {
-                count = getViewCount(blogId);
-            }
+    private List<CommentResponse> loadCommentsTree(Long blogId) {
+        List<CommentEntity> comments = commentRepository.findByBlogIdOrderByCreatedAtAscIdAsc(blogId);
 
-            log.debug("Milestone check for blog {} type {} count {}", blogId, milestoneType, count);
-
-            // Check if it's a milestone (5, 10, 50, 100, 500, 1000, etc.)
-            if (isMilestone(count)) {
-                String authorId = null;
-                String blogTitle = null;
-                try {
-                    // Best effort: fetch author id, but do not block publishing if unavailable
-                    BlogDetails blog = blogServiceClient.getBlogPublic(blogId);
-                    if (blog != null) {
-                        if (blog.authorId != null) {
-                            authorId = blog.authorId.toString();
-                        }
-                        blogTitle = blog.title;
-                    }
-                } catch (Exception ex) {
-                    log.warn("Could not fetch blog details for {} during milestone publish: {}", blogId, ex.getMessage());
+        Map<Long, CommentResponse> byId = new HashMap<>(comments.size() * 2);
+        for (CommentEntity comment : comments) {
+            byId.put(comment.getId(), toResponse(comment));
+        }
+
+        // Comments arrive in creation order, so appending keeps every reply list ordered
+        List<CommentResponse> roots = new ArrayList<>();
+        for (CommentEntity comment : comments) {
+            CommentResponse response = byId.get(comment.getId());
+            if (response.getParentId() == null) {
+                roots.add(response);
+            } else {
+                CommentResponse parent = byId.get(response.getParentId());
+                if (parent != null) {
+                    parent.getReplies().add(response);
                 }
+            }
+        }
+        return roots;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CommentPage getCommentPage(Long blogId, String cursor, int limit) {
+        int size = clampPageSize(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        Pageable pageable = PageRequest.of(0, size + 1);
+        List<CommentEntity> rows = after == null
+            ? commentRepository.findRootPage(blogId, pageable)
+            : commentRepository.findRootPageAfter(blogId, after.createdAt(), after.id(), pageable);
+        return toCommentPage(rows, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CommentPage getReplyPage(Long blogId, Long parentId, String cursor, int limit) {
+        int size = clampPageSize(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Pageable pageable = PageRequest.of(0, size + 1);
+        List<CommentEntity> rows = after == null
+            ? commentRepository.findReplyPage(blogId, parentId, pageable)
+            : commentRepository.findReplyPageAfter(blogId, parentId, after.createdAt(), after.id(), pageable);
+        return toCommentPage(rows, size);
+    }
+
+    private CommentPage toCommentPage(List<CommentEntity> rows, int size) {
+        boolean hasMore = rows.size() > size;
+        List<CommentEntity> pageRows = hasMore ? rows.subList(0, size) : rows;
+        if (pageRows.isEmpty()) {
+            return CommentPage.builder().build();
+        }
+
+        // Reply counts for the whole page come from one grouped query on idx_comments_parent
+        Map<Long, Long> replyCounts = new HashMap<>();
+        List<Long> ids = pageRows.stream().map(CommentEntity::getId).toList();
+        for (Object[] row : commentRepository.countRepliesGroupedByParentId(ids)) {
+            replyCounts.put((Long) row[0], (Long) row[1]);
+        }
+
+        List<CommentResponse> items = new ArrayList<>(pageRows.size());
+        for (CommentEntity entity : pageRows) {
+            CommentResponse response = toResponse(entity);
+            response.setReplyCount(replyCounts.getOrDefault(entity.getId(), 0L));
+            items.add(response);
+        }
+        CommentEntity last = pageRows.get(pageRows.size() - 1);
+        return CommentPage.builder()
+            .items(items)
+            .nextCursor(hasMore ? new KeysetCursor(last.getCreatedAt(), last.getId()).encode() : null)
+            .build();
+    }
+
+    private CommentResponse findInTree(List<CommentResponse> roots, Long commentId) {
+        Deque<CommentResponse> pending = new ArrayDeque<>(roots);
+        while (!pending.isEmpty()) {
+            CommentResponse node = pending.pop();
+            if (node.getId().equals(commentId)) {
+                return node;
+            }
+            pending.addAll(node.getReplies());
+        }
+        throw new EntityNotFoundException("Comment not found");
+    }
+
+    private int clampPageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private void checkBatchSize(Collection<Long> blogIds) {
+        if (blogIds.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_IDS + " blog ids per request");
+        }
+    }
 
-                try {
-                    notificationPublisher.publishMilestone(
-                            blogId,
-                            authorId,
-                            null,
-                            null,
-                            blogTitle,
-                            milestoneType,
-                            (int) count
-                    );
-                } catch (Exception ex) {
-                    log.warn("Non-blocking failure scheduling REST milestone notification for blog {}: {}", blogId, ex.getMessage());
+    private List<CommentResponse> prunedCopy(List<CommentResponse> roots, Integer maxDepth, Integer maxChildren) {
+        List<CommentResponse> copies = new ArrayList<>(roots.size());
+        Deque<CommentResponse[]> level = new ArrayDeque<>();
+        for (CommentResponse root : roots) {
+            CommentResponse copy = root.toBuilder().replies(new ArrayList<>()).build();
+            copies.add(copy);
+            level.add(new CommentResponse[] {root, copy});
+        }
+        int depth = 0;
+        // Breadth-first, one level at a time, so deep threads do not recurse
+        while (!level.isEmpty() && (maxDepth == null || depth < maxDepth)) {
+            Deque<CommentResponse[]> next = new ArrayDeque<>();
+            for (CommentResponse[] pair : level) {
+                List<CommentResponse> replies = pair[0].getReplies();
+                int kept = maxChildren == null ? replies.size() : Math.min(maxChildren, replies.size());
+                for (CommentResponse reply : replies.subList(0, kept)) {
+                    CommentResponse copy = reply.toBuilder().replies(new ArrayList<>()).build();
+                    pair[1].getReplies().add(copy);
+                    next.add(new CommentResponse[] {reply, copy});
                 }
-            } else {
-                log.debug("Not a milestone for blog {} type {} at count {}", blogId, milestoneType, count);
             }
-        } catch (Exception e) {
-            log.error("Failed to check/publish milestone for blog: {}. Error: {}", 
-                    blogId, e.getMessage(), e);
-            // Don't fail the like operation if milestone checking fails
+            level = next;
+            depth++;
         }
+        return copies;
     }
 
-    @FeignClient(name = "blog-service")
-    interface BlogServiceClient {
-        @GetMapping("/api/blogs/internal/{id}")
-        BlogDetails getBlogPublic(@PathVariable("id") Long id);
+    @Override
+    @Transactional(readOnly = true)
+    public long getCommentCount(Long blogId) {
+        return statsRepository.findById(blogId)
+            .map(BlogEngagementStats::getCommentCount)
+            .orElseGet(() -> commentRepository.countByBlogId(blogId));
     }
 
-    @Data
-    static class BlogDetails {
-        private Long id;
-        private String title;
-        private Long authorId;
+    @Override
+    @Transactional(readOnly = true)
+    public List<BlogCounts> getCounts(Collection<Long> blogIds) {
+        checkBatchSize(blogIds);
+        Map<Long, BlogCounts> counts = new LinkedHashMap<>();
+        for (Long blogId : blogIds) {
+            if (blogId != null) {
+                counts.putIfAbsent(blogId, BlogCounts.builder().blogId(blogId).build());
+            }
+        }
+        if (counts.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // Materialized counters by primary key; grouped aggregates only for blogs without a stats row yet
+        Set<Long> missing = new HashSet<>(counts.keySet());
+        for (BlogEngagementStats stats : statsRepository.findAllById(counts.keySet())) {
+            BlogCounts blogCounts = counts.get(stats.getBlogId());
+            blogCounts.setLikeCount(stats.getLikeCount());
+            blogCounts.setViewCount(stats.getViewCount());
+            blogCounts.setCommentCount(stats.getCommentCount());
+            missing.remove(stats.getBlogId());
+        }
+        if (!missing.isEmpty()) {
+            for (Object[] row : likeRepository.countGroupedByBlogId(missing)) {
+                counts.get((Long) row[0]).setLikeCount((Long) row[1]);
+            }
+            for (Object[] row : viewRepository.countTotalsGroupedByBlogId(missing)) {
+                // Native aggregate: the driver picks the numeric types
+                counts.get(((Number) row[0]).longValue()).setViewCount(((Number) row[1]).longValue());
+            }
+            for (Object[] row : commentRepository.countGroupedByBlogId(missing)) {
+                counts.get((Long) row[0]).setCommentCount((Long) row[1]);
+            }
+        }
+        for (BlogCounts blogCounts : counts.values()) {
+            blogCounts.setViewCount(blogCounts.getViewCount() + viewCounterCache.pendingCount(blogCounts.getBlogId()));
+        }
+        return new ArrayList<>(counts.values());
     }
 
-    /**
-     * Checks if a count represents a milestone.
-     * Milestones are: 10, 50, 100, 500, 1000, 5000, 10000, etc.
-     */
-    private boolean isMilestone(long count) {
-        return count == 5 || count == 10 || count == 50 || count == 100 || count == 500 || 
-               count == 1000 || count == 5000 || count == 10000 || 
-               (count > 10000 && count % 10000 == 0);
+    @Override
+    public Optional<SseEmitter> subscribeToLiveCounts(Long blogId) {
+        return liveCountsHub.subscribe(blogId, () -> getCounts(List.of(blogId)).get(0));
     }
-}
 
+    @Override
+    public List<TrendingBlog> getTrending(String window, int limit) {
+        return trendingEngine.getTrending(TrendingEngine.Window.parse(window), limit);
+    }
 
+    private CommentResponse toResponse(CommentEntity entity) {
+        return CommentResponse.builder()
+            .id(entity.getId())
+            .blogId(entity.getBlogId())
+            .username(entity.getUsername())
+            .content(entity.getContent())
+            .parentId(parentIdOf(entity))
+            .createdAt(entity.getCreatedAt())
+            .updatedAt(entity.getUpdatedAt())
+            .build();
+    }
+
+    private Long parentIdOf(CommentEntity entity) {
+        if (entity.getParentId() != null) {
+            return entity.getParentId();
+        }
+        return entity.getParent() != null ? entity.getParent().getId() : null;
+    }
+}
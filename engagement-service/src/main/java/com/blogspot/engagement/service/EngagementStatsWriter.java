@@ -0,0 +1,77 @@
+package com.blogspot.engagement.service;
+
+import com.blogspot.engagement.repository.BlogEngagementStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Applies counter deltas to blog_engagement_stats inside the caller's transaction, and checks the
+ * milestones each increase crossed against the values before and after it.
+ */
+@Component
+@RequiredArgsConstructor
+public class EngagementStatsWriter {
+
+    private final BlogEngagementStatsRepository statsRepository;
+    private final MilestoneChecker milestoneChecker;
+
+    /**
+     * A blog without a row yet is seeded first, so the row lock below is always taken on an existing row:
+     * locking a missing row takes a gap lock, and two first writers holding gap locks deadlock on each
+     * other's insert. The seed is the likes and comments tables minus the caller's own write, read without
+     * locks, and the view rollups; the caller's delta is then applied like any other. The row stays locked
+     * until the caller commits, so the returned values cannot interleave with another writer or the reconciler.
+     */
+    @Transactional
+    public Change applyDelta(Long blogId, long likes, long views, long comments) {
+        if (!statsRepository.existsById(blogId)) {
+            seed(blogId, likes, comments);
+        }
+        Counts before = lockCounts(blogId);
+        statsRepository.applyDelta(blogId, likes, views, comments);
+        Change change = new Change(before, new Counts(Math.max(before.likes() + likes, 0),
+            Math.max(before.views() + views, 0), Math.max(before.comments() + comments, 0)));
+        if (likes > 0) {
+            milestoneChecker.check(blogId, "LIKES", change.before().likes(), change.after().likes());
+        }
+        if (views > 0) {
+            milestoneChecker.check(blogId, "VIEWS", change.before().views(), change.after().views());
+        }
+        if (comments > 0) {
+            milestoneChecker.check(blogId, "COMMENTS", change.before().comments(), change.after().comments());
+        }
+        return change;
+    }
+
+    /**
+     * Inserts the row unless another transaction already has; either way this transaction then holds its
+     * exclusive lock. The raw tables already include the caller's write, which is taken back out.
+     */
+    private void seed(Long blogId, long likes, long comments) {
+        Counts raw = toCounts(statsRepository.countRaw(blogId).get(0));
+        statsRepository.insertOrLock(blogId, Math.max(raw.likes() - likes, 0), raw.views(),
+            Math.max(raw.comments() - comments, 0));
+    }
+
+    private Counts lockCounts(Long blogId) {
+        List<Object[]> rows = statsRepository.lockCounts(blogId);
+        if (rows.isEmpty()) {
+            throw new IllegalStateException("No engagement stats row for blog " + blogId);
+        }
+        return toCounts(rows.get(0));
+    }
+
+    private static Counts toCounts(Object[] row) {
+        return new Counts(((Number) row[0]).longValue(), ((Number) row[1]).longValue(), ((Number) row[2]).longValue());
+    }
+
+    public record Counts(long likes, long views, long comments) {}
+
+    /**
+     * A blog's counters before and after one delta.
+     */
+    public record Change(Counts before, Counts after) {}
+}
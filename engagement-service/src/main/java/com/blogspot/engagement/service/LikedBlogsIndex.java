@@ -0,0 +1,258 @@
+package com.blogspot.engagement.service;
+
+import com.blogspot.common.util.AfterCommit;
+import com.blogspot.engagement.dto.EngagementDtos.LikedBlogsPage;
+import com.blogspot.engagement.repository.LikeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory index from username to a Roaring bitmap of the blog ids that user has liked. A user's
+ * bitmap is loaded on first use with one query on idx_likes_username_blog and kept current by
+ * applying committed likes/unlikes. Least recently used users are evicted whenever a load or an
+ * update takes the bitmaps over engagement.likes.index.max-bytes.
+ */
+@Component
+@Slf4j
+public class LikedBlogsIndex {
+
+    private final LikeRepository likeRepository;
+    private final long maxBytes;
+    private final Map<String, UserLikes> users = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+
+    private final Counter loads;
+    private final Counter evictions;
+
+    public LikedBlogsIndex(LikeRepository likeRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${engagement.likes.index.max-bytes:67108864}") long maxBytes) {
+        this.likeRepository = likeRepository;
+        this.maxBytes = maxBytes;
+        this.loads = meterRegistry.counter("engagement.likes.index.loads");
+        this.evictions = meterRegistry.counter("engagement.likes.index.evictions");
+        meterRegistry.gaugeMapSize("engagement.likes.index.users", Tags.empty(), users);
+        meterRegistry.gauge("engagement.likes.index.bytes", totalBytes);
+    }
+
+    public boolean isLiked(String username, Long blogId) {
+        UserLikes likes = load(username);
+        synchronized (likes) {
+            return likes.bitmap.contains(blogId);
+        }
+    }
+
+    public Map<Long, Boolean> getStatuses(String username, Collection<Long> blogIds) {
+        UserLikes likes = load(username);
+        Map<Long, Boolean> statuses = new LinkedHashMap<>();
+        synchronized (likes) {
+            for (Long blogId : blogIds) {
+                if (blogId != null) {
+                    statuses.put(blogId, likes.bitmap.contains(blogId));
+                }
+            }
+        }
+        return statuses;
+    }
+
+    /**
+     * Liked blog ids in descending id order, starting below the cursor (the last id of the previous page).
+     */
+    public LikedBlogsPage getPage(String username, String cursor, int limit) {
+        long before = parseCursor(cursor);
+        UserLikes likes = load(username);
+        List<Long> blogIds = new ArrayList<>(limit);
+        boolean hasMore;
+        synchronized (likes) {
+            // rank = number of liked ids <= before - 1; select(rank - 1) is the largest of them
+            long remaining = likes.bitmap.rankLong(before - 1);
+            while (remaining > 0 && blogIds.size() < limit) {
+                blogIds.add(likes.bitmap.select(--remaining));
+            }
+            hasMore = remaining > 0;
+        }
+        return LikedBlogsPage.builder()
+            .blogIds(blogIds)
+            .nextCursor(hasMore ? String.valueOf(blogIds.get(blogIds.size() - 1)) : null)
+            .build();
+    }
+
+    public void onLiked(String username, Long blogId) {
+        AfterCommit.run(() -> update(username, blogId, true));
+    }
+
+    public void onUnliked(String username, Long blogId) {
+        AfterCommit.run(() -> update(username, blogId, false));
+    }
+
+    /**
+     * The first caller for a user registers an empty entry and runs the query outside the map, so a
+     * slow load never blocks other users' map operations. Updates committed while the query runs are
+     * queued on the entry and replayed over its result; concurrent callers wait for the load.
+     */
+    private UserLikes load(String username) {
+        UserLikes likes = users.get(username);
+        if (likes == null) {
+            UserLikes created = new UserLikes();
+            likes = users.putIfAbsent(username, created);
+            if (likes == null) {
+                likes = created;
+                fill(username, created);
+                trimIfOverBudget();
+            }
+        }
+        likes.awaitLoaded();
+        likes.lastAccess = System.currentTimeMillis();
+        return likes;
+    }
+
+    private void fill(String username, UserLikes likes) {
+        List<Long> blogIds;
+        try {
+            blogIds = likeRepository.findBlogIdsByUsername(username);
+        } catch (RuntimeException e) {
+            // Drop the entry so the next request retries; waiting callers see the same failure
+            users.remove(username, likes);
+            likes.fail(e);
+            throw e;
+        }
+        synchronized (likes) {
+            for (Long blogId : blogIds) {
+                likes.bitmap.addLong(blogId);
+            }
+            for (Change change : likes.pending) {
+                change.applyTo(likes.bitmap);
+            }
+            likes.bitmap.runOptimize();
+            totalBytes.addAndGet(likes.resize());
+            likes.pending = null;
+            likes.notifyAll();
+        }
+        loads.increment();
+    }
+
+    private void update(String username, Long blogId, boolean liked) {
+        Change change = new Change(blogId, liked);
+        // Users not loaded yet will read the committed row when they are
+        users.computeIfPresent(username, (name, likes) -> {
+            synchronized (likes) {
+                if (likes.pending != null) {
+                    likes.pending.add(change);
+                } else {
+                    change.applyTo(likes.bitmap);
+                    totalBytes.addAndGet(likes.resize());
+                }
+            }
+            return likes;
+        });
+        // Bitmaps grow with every like, not only when a user is loaded
+        trimIfOverBudget();
+    }
+
+    private void trimIfOverBudget() {
+        if (totalBytes.get() <= maxBytes || !trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<Map.Entry<String, UserLikes>> entries = new ArrayList<>(users.entrySet());
+            entries.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+            // Evict down to 90% of the budget so the next few loads do not trim again
+            long target = maxBytes - maxBytes / 10;
+            for (Map.Entry<String, UserLikes> entry : entries) {
+                if (totalBytes.get() <= target) {
+                    break;
+                }
+                if (entry.getValue().pending != null) {
+                    continue; // still loading; its bytes are not counted yet
+                }
+                if (users.remove(entry.getKey(), entry.getValue())) {
+                    totalBytes.addAndGet(-entry.getValue().bytes);
+                    evictions.increment();
+                }
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+
+    private static long parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            long before = Long.parseLong(cursor);
+            if (before <= 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return before;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private record Change(long blogId, boolean liked) {
+        private void applyTo(Roaring64NavigableMap bitmap) {
+            if (liked) {
+                bitmap.addLong(blogId);
+            } else {
+                bitmap.removeLong(blogId);
+            }
+        }
+    }
+
+    private static final class UserLikes {
+        private final Roaring64NavigableMap bitmap = new Roaring64NavigableMap();
+        /** Updates committed while the bitmap is loading; null once loaded. */
+        private volatile List<Change> pending = new ArrayList<>();
+        private RuntimeException failure;
+        private long bytes;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        private synchronized void awaitLoaded() {
+            boolean interrupted = false;
+            while (pending != null && failure == null) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        private synchronized void fail(RuntimeException e) {
+            failure = e;
+            notifyAll();
+        }
+
+        /**
+         * Recomputes the serialized size and returns the change, for the global byte budget.
+         */
+        private long resize() {
+            long previous = bytes;
+            bytes = bitmap.serializedSizeInBytes();
+            return bytes - previous;
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package com.blogspot.engagement.service;
+
+import com.blogspot.engagement.dto.EngagementDtos.BlogCounts;
+import com.blogspot.engagement.dto.EngagementDtos.CountsDelta;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * In-process fan-out of live engagement counts over Server-Sent Events. Writers only add to per-blog
+ * pending totals, and only for blogs somebody is watching; every interval the pending deltas of each
+ * blog are taken once and handed to its subscribers. Each subscriber has a bounded queue of events
+ * (queue-capacity) drained on its own virtual thread, so a blocking write to a slow client parks only
+ * that thread and never holds up the flush or other clients. A subscriber whose queue overflows, or
+ * whose write has been stuck longer than stall-timeout, is disconnected.
+ * <p>
+ * Events: {@code snapshot} (full {@link BlogCounts}) on subscribe, {@code delta} ({@link CountsDelta})
+ * afterwards, and comment heartbeats while nothing changes. A subscriber is registered before its
+ * snapshot is read; the totals pending at registration were published before the read started and
+ * are left out of its first delta, and deltas arriving before the snapshot is sent are held back and
+ * sent after it. A write whose commit the snapshot already saw but whose publish landed after
+ * registration is still counted twice, so counts are per node and best-effort; clients
+ * resynchronize from the snapshot when they reconnect.
+ */
+@Component
+@Slf4j
+public class LiveCountsHub {
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final int maxSubscribers;
+    private final long emitterTimeoutMillis;
+    private final long stallTimeoutMillis;
+    private final int queueCapacity;
+    private final ExecutorService sender;
+
+    private final Counter rejected;
+    private final Counter deltasSent;
+    private final Counter disconnected;
+    private final Counter overflowed;
+
+    public LiveCountsHub(MeterRegistry meterRegistry,
+                         @Value("${engagement.live.max-subscribers:5000}") int maxSubscribers,
+                         @Value("${engagement.live.queue-capacity:32}") int queueCapacity,
+                         @Value("${engagement.live.emitter-timeout:PT30M}") Duration emitterTimeout,
+                         @Value("${engagement.live.stall-timeout:PT30S}") Duration stallTimeout) {
+        this.maxSubscribers = maxSubscribers;
+        this.queueCapacity = queueCapacity;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        this.stallTimeoutMillis = stallTimeout.toMillis();
+        this.sender = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("live-counts-sender-", 0).factory());
+        this.rejected = meterRegistry.counter("engagement.live.subscribers.rejected");
+        this.deltasSent = meterRegistry.counter("engagement.live.deltas.sent");
+        this.disconnected = meterRegistry.counter("engagement.live.subscribers.disconnected");
+        this.overflowed = meterRegistry.counter("engagement.live.subscribers.overflowed");
+        meterRegistry.gauge("engagement.live.subscribers", Tags.empty(), subscriberCount);
+        meterRegistry.gaugeMapSize("engagement.live.blogs", Tags.empty(), channels);
+    }
+
+    /**
+     * Opens a stream for the blog that starts with a snapshot read from the loader after the stream is
+     * registered. Returns empty when this node is already serving max-subscribers streams.
+     */
+    public Optional<SseEmitter> subscribe(Long blogId, Supplier<BlogCounts> snapshotLoader) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            rejected.increment();
+            return Optional.empty();
+        }
+        Subscriber subscriber = new Subscriber(blogId, new SseEmitter(emitterTimeoutMillis));
+        subscriber.emitter.onCompletion(subscriber::close);
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(error -> subscriber.close());
+        channels.compute(blogId, (id, channel) -> {
+            Channel target = channel != null ? channel : new Channel();
+            synchronized (target) {
+                if (target.likes != 0 || target.views != 0 || target.comments != 0) {
+                    subscriber.baseline(target.likes, target.views, target.comments);
+                    target.baselineTaken = true;
+                }
+                target.subscribers.add(subscriber);
+            }
+            return target;
+        });
+        BlogCounts snapshot;
+        try {
+            snapshot = snapshotLoader.get();
+        } catch (RuntimeException e) {
+            subscriber.close();
+            throw e;
+        }
+        subscriber.offerSnapshot(snapshot);
+        return Optional.of(subscriber.emitter);
+    }
+
+    /**
+     * Records a change to a blog's counts. A no-op for blogs nobody on this node is watching.
+     */
+    public void publish(Long blogId, long likes, long views, long comments) {
+        Channel channel = channels.get(blogId);
+        if (channel == null) {
+            return;
+        }
+        synchronized (channel) {
+            channel.likes += likes;
+            channel.views += views;
+            channel.comments += comments;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${engagement.live.interval:PT1S}")
+    public void flush() {
+        channels.forEach((blogId, channel) -> {
+            long likes;
+            long views;
+            long comments;
+            List<Subscriber> subscribers;
+            synchronized (channel) {
+                if (channel.likes == 0 && channel.views == 0 && channel.comments == 0 && !channel.baselineTaken) {
+                    return;
+                }
+                likes = channel.likes;
+                views = channel.views;
+                comments = channel.comments;
+                channel.likes = 0;
+                channel.views = 0;
+                channel.comments = 0;
+                channel.baselineTaken = false;
+                // Exactly the subscribers whose baseline is part of these totals
+                subscribers = List.copyOf(channel.subscribers);
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offerDelta(likes, views, comments);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${engagement.live.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        for (Channel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                long sendingSince = subscriber.sendingSince;
+                if (sendingSince > 0 && now - sendingSince > stallTimeoutMillis) {
+                    log.debug("Disconnecting stalled live subscriber of blog {}", subscriber.blogId);
+                    subscriber.disconnect();
+                } else {
+                    subscriber.offerHeartbeat();
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        for (Channel channel : channels.values()) {
+            channel.subscribers.forEach(Subscriber::disconnect);
+        }
+        sender.shutdownNow();
+    }
+
+    private void remove(Subscriber subscriber) {
+        channels.computeIfPresent(subscriber.blogId, (id, channel) -> {
+            channel.subscribers.remove(subscriber);
+            return channel.subscribers.isEmpty() ? null : channel;
+        });
+        subscriberCount.decrementAndGet();
+    }
+
+    private static final class Channel {
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+        // Guarded by this; subscribers are added under it too, so a flush sees a consistent pair
+        private long likes;
+        private long views;
+        private long comments;
+        // A subscriber joined while totals were pending and needs the next flush even if they net to zero
+        private boolean baselineTaken;
+    }
+
+    /**
+     * At most one drain per subscriber runs at a time; events queued meanwhile are picked up by that
+     * drain. Offers never block: a full queue disconnects the subscriber, which resynchronizes from a
+     * new snapshot when it reconnects.
+     */
+    private final class Subscriber {
+
+        private final Long blogId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile long sendingSince;
+
+        // Guarded by this; deltas are held here until the snapshot is queued
+        private boolean started;
+        private long likes;
+        private long views;
+        private long comments;
+        private long baseLikes;
+        private long baseViews;
+        private long baseComments;
+
+        private Subscriber(Long blogId, SseEmitter emitter) {
+            this.blogId = blogId;
+            this.emitter = emitter;
+        }
+
+        /**
+         * Totals already pending when the subscriber joined; the snapshot includes them, so they are
+         * taken off the next delta. Called under the channel lock before the first flush can reach it.
+         */
+        synchronized void baseline(long likes, long views, long comments) {
+            baseLikes = likes;
+            baseViews = views;
+            baseComments = comments;
+        }
+
+        /**
+         * Queues the snapshot, then the deltas held since registration.
+         */
+        void offerSnapshot(BlogCounts counts) {
+            boolean queued;
+            synchronized (this) {
+                started = true;
+                queued = queue.offer(SseEmitter.event().name("snapshot").data(counts, MediaType.APPLICATION_JSON))
+                    && queueHeldDelta();
+            }
+            afterOffer(queued);
+        }
+
+        void offerDelta(long likes, long views, long comments) {
+            boolean queued;
+            synchronized (this) {
+                this.likes += likes - baseLikes;
+                this.views += views - baseViews;
+                this.comments += comments - baseComments;
+                baseLikes = 0;
+                baseViews = 0;
+                baseComments = 0;
+                if (!started) {
+                    return;
+                }
+                queued = queueHeldDelta();
+            }
+            afterOffer(queued);
+        }
+
+        void offerHeartbeat() {
+            synchronized (this) {
+                // Anything already queued keeps the connection alive just as well
+                if (!started || !queue.isEmpty()) {
+                    return;
+                }
+                queue.offer(SseEmitter.event().comment("heartbeat"));
+            }
+            scheduleDrain();
+        }
+
+        private boolean queueHeldDelta() {
+            if (likes == 0 && views == 0 && comments == 0) {
+                return true;
+            }
+            CountsDelta delta = new CountsDelta(blogId, likes, views, comments);
+            likes = 0;
+            views = 0;
+            comments = 0;
+            if (!queue.offer(SseEmitter.event().name("delta").data(delta, MediaType.APPLICATION_JSON))) {
+                return false;
+            }
+            deltasSent.increment();
+            return true;
+        }
+
+        private void afterOffer(boolean queued) {
+            if (queued) {
+                scheduleDrain();
+            } else {
+                log.debug("Disconnecting live subscriber of blog {}: {} events behind", blogId, queueCapacity);
+                overflowed.increment();
+                disconnect();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (closed.get() || !draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false); // shutting down
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = queue.poll()) != null) {
+                    sendingSince = System.currentTimeMillis();
+                    emitter.send(event);
+                    sendingSince = 0;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away, or the emitter was completed underneath us
+                disconnect();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!queue.isEmpty()) {
+                scheduleDrain(); // an offer raced with the end of this drain
+            }
+        }
+
+        void disconnect() {
+            if (!closed.get()) {
+                disconnected.increment();
+                close();
+                // complete() waits for a send in progress, so never run it on a shared thread
+                try {
+                    sender.execute(emitter::complete);
+                } catch (RejectedExecutionException e) {
+                    emitter.complete(); // shutting down
+                }
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                queue.clear();
+                remove(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.blogspot.engagement.service;
+
+import com.blogspot.common.util.AfterCommit;
+import com.blogspot.engagement.repository.FiredMilestoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Synchronous half of milestone detection, called on the write path with a counter's value before
+ * and after a change. When a milestone was crossed it is claimed as PENDING in fired_milestones within
+ * the surrounding transaction (an outbox row), and handed to {@link MilestoneNotifier} for publishing
+ * after the commit, so no remote call runs while a write transaction holds its connection.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MilestoneChecker {
+
+    private static final long[] FIXED_MILESTONES = {5, 10, 50, 100, 500, 1000, 5000, 10000};
+
+    private final FiredMilestoneRepository firedMilestoneRepository;
+    private final MilestoneNotifier milestoneNotifier;
+
+    /**
+     * Fires the highest milestone M with previousCount < M <= newCount, if any.
+     * Milestones are: 5, 10, 50, 100, 500, 1000, 5000, 10000, then every 10000.
+     */
+    public void check(Long blogId, String milestoneType, long previousCount, long newCount) {
+        long milestone = highestMilestoneAtOrBelow(newCount);
+        if (milestone <= previousCount) {
+            return;
+        }
+        log.debug("Blog {} crossed {} {} ({} -> {})", blogId, milestone, milestoneType, previousCount, newCount);
+        if (firedMilestoneRepository.claim(blogId, milestoneType, milestone, LocalDateTime.now()) == 0) {
+            return; // crossed before, e.g. after an unlike and a new like
+        }
+        AfterCommit.run(() -> milestoneNotifier.fire(blogId, milestoneType, milestone));
+    }
+
+    /**
+     * Returns the largest milestone not exceeding count, or 0 if none has been reached.
+     */
+    static long highestMilestoneAtOrBelow(long count) {
+        if (count > 10000) {
+            return (count / 10000) * 10000;
+        }
+        long milestone = 0;
+        for (long candidate : FIXED_MILESTONES) {
+            if (candidate <= count) {
+                milestone = candidate;
+            }
+        }
+        return milestone;
+    }
+}
@@ -0,0 +1,165 @@
+package com.blogspot.engagement.service;
+
+import com.blogspot.engagement.model.FiredMilestone;
+import com.blogspot.engagement.repository.FiredMilestoneRepository;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Asynchronous half of milestone detection: publishes the PENDING milestones claimed by
+ * {@link MilestoneChecker} and marks them SENT. Each is tried right after the triggering transaction
+ * commits and retried on a schedule until it goes out, so a failed publish or a crash in between only
+ * delays it. The idempotency key is derived from the milestone, so a publish repeated after a lost
+ * acknowledgement or by two nodes at once is delivered once.
+ */
+@Component
+@Slf4j
+public class MilestoneNotifier {
+
+    private static final int RETRY_BATCH_SIZE = 100;
+
+    private final FiredMilestoneRepository firedMilestoneRepository;
+    private final NotificationPublisher notificationPublisher;
+    private final BlogServiceClient blogServiceClient;
+    private final long blogCacheTtlMillis;
+    private final int blogCacheMaxSize;
+    private final Duration retryDelay;
+    private final Duration maxAge;
+    private final Map<Long, CachedBlog> blogCache = new ConcurrentHashMap<>();
+
+    public MilestoneNotifier(FiredMilestoneRepository firedMilestoneRepository,
+                             NotificationPublisher notificationPublisher,
+                             BlogServiceClient blogServiceClient,
+                             @Value("${engagement.milestones.blog-cache.ttl:PT10M}") Duration blogCacheTtl,
+                             @Value("${engagement.milestones.blog-cache.max-size:10000}") int blogCacheMaxSize,
+                             @Value("${engagement.milestones.retry-interval:PT1M}") Duration retryDelay,
+                             @Value("${engagement.milestones.max-age:P7D}") Duration maxAge) {
+        this.firedMilestoneRepository = firedMilestoneRepository;
+        this.notificationPublisher = notificationPublisher;
+        this.blogServiceClient = blogServiceClient;
+        this.blogCacheTtlMillis = blogCacheTtl.toMillis();
+        this.blogCacheMaxSize = blogCacheMaxSize;
+        this.retryDelay = retryDelay;
+        this.maxAge = maxAge;
+    }
+
+    @Async
+    public void fire(Long blogId, String milestoneType, long milestone) {
+        firedMilestoneRepository.findByBlogIdAndMilestoneTypeAndMilestone(blogId, milestoneType, milestone)
+            .filter(fired -> fired.getStatus() == FiredMilestone.Status.PENDING)
+            .ifPresent(this::deliver);
+    }
+
+    /**
+     * Publishes milestones still PENDING after one retry interval, which leaves the post-commit attempt
+     * time to finish. Milestones older than max-age (e.g. of deleted blogs) are no longer tried.
+     */
+    @Scheduled(initialDelayString = "${engagement.milestones.retry-interval:PT1M}",
+               fixedDelayString = "${engagement.milestones.retry-interval:PT1M}")
+    public void retryPending() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            List<FiredMilestone> pending = firedMilestoneRepository.findByStatusAndFiredAtBetweenOrderByIdAsc(
+                FiredMilestone.Status.PENDING, now.minus(maxAge), now.minus(retryDelay), PageRequest.of(0, RETRY_BATCH_SIZE));
+            for (FiredMilestone fired : pending) {
+                deliver(fired);
+            }
+        } catch (Exception e) {
+            log.error("Milestone retry failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Publishes the milestone and marks it SENT. Leaves it PENDING if the blog's author cannot be
+     * looked up or the publish fails.
+     */
+    private void deliver(FiredMilestone fired) {
+        BlogDetails blog = findBlog(fired.getBlogId());
+        if (blog == null || blog.authorId == null) {
+            log.warn("Milestone {} {} for blog {} left pending: blog details unavailable",
+                fired.getMilestone(), fired.getMilestoneType(), fired.getBlogId());
+            return;
+        }
+        try {
+            notificationPublisher.publishMilestone(
+                    fired.getBlogId() + ":" + fired.getMilestoneType() + ":" + fired.getMilestone(),
+                    fired.getBlogId(),
+                    blog.authorId.toString(),
+                    null,
+                    null,
+                    blog.title,
+                    fired.getMilestoneType(),
+                    (int) fired.getMilestone()
+            );
+        } catch (Exception e) {
+            log.warn("Milestone {} {} for blog {} left pending: {}",
+                fired.getMilestone(), fired.getMilestoneType(), fired.getBlogId(), e.getMessage());
+            return;
+        }
+        firedMilestoneRepository.markSent(fired.getId(), LocalDateTime.now());
+    }
+
+    /**
+     * Null when the lookup fails; failures are not cached.
+     */
+    private BlogDetails findBlog(Long blogId) {
+        long now = System.currentTimeMillis();
+        CachedBlog cached = blogCache.get(blogId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.blog();
+        }
+        try {
+            BlogDetails blog = blogServiceClient.getBlogPublic(blogId);
+            if (blogCache.size() >= blogCacheMaxSize) {
+                evict(now);
+            }
+            blogCache.put(blogId, new CachedBlog(blog, now + blogCacheTtlMillis));
+            return blog;
+        } catch (Exception ex) {
+            log.warn("Could not fetch blog details for {} during milestone publish: {}", blogId, ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Drops expired entries; if the cache is still full, drops arbitrary entries until there is room.
+     */
+    private void evict(long now) {
+        blogCache.values().removeIf(entry -> entry.expiresAt() <= now);
+        Iterator<Long> keys = blogCache.keySet().iterator();
+        while (blogCache.size() >= blogCacheMaxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record CachedBlog(BlogDetails blog, long expiresAt) {}
+
+    @FeignClient(name = "blog-service")
+    interface BlogServiceClient {
+        @GetMapping("/api/blogs/internal/{id}")
+        BlogDetails getBlogPublic(@PathVariable("id") Long id);
+    }
+
+    @Data
+    static class BlogDetails {
+        private Long id;
+        private String title;
+        private Long authorId;
+    }
+}
@@ -0,0 +1,433 @@
+package com.blogspot.engagement.service;
+
+import com.blogspot.engagement.dto.EngagementDtos.TrendingBlog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory trending ranking. Every like, view and comment is added to per-blog ring buffers of
+ * 60 one-minute and 24 one-hour buckets. A blog's score per window is the weighted activity of its
+ * buckets, decayed exponentially by bucket age. Because every blog decays at the same rate, the
+ * order only changes when a blog records an event or a bucket leaves its window, so each window
+ * keeps an ordered index of active blogs that is updated in place by {@link #record} and by the
+ * expiry sweep; requests read the head of the index. The buckets are rebuilt from the likes, views
+ * and comments tables on startup.
+ */
+@Component
+@Slf4j
+public class TrendingEngine {
+
+    public enum Activity { LIKE, VIEW, COMMENT }
+
+    public enum Window {
+        HOUR("1h"), DAY("24h");
+
+        private final String label;
+
+        Window(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Throws IllegalArgumentException for anything other than 1h or 24h.
+         */
+        public static Window parse(String value) {
+            for (Window window : values()) {
+                if (window.label.equalsIgnoreCase(value)) {
+                    return window;
+                }
+            }
+            throw new IllegalArgumentException("Window must be '1h' or '24h'");
+        }
+    }
+
+    private static final long MINUTE_MILLIS = 60_000L;
+    private static final long HOUR_MILLIS = 3_600_000L;
+    private static final String BUCKET_COUNTS_SQL =
+        "SELECT blog_id, TIMESTAMP(DATE_FORMAT(created_at, ?)) AS bucket, COUNT(*) FROM %s " +
+        "WHERE created_at >= ? AND created_at < ? GROUP BY blog_id, bucket";
+    private static final Comparator<Ranked> BY_RANK =
+        Comparator.comparingDouble(Ranked::key).reversed().thenComparingLong(Ranked::blogId);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, BlogActivity> activity = new ConcurrentHashMap<>();
+    private final NavigableSet<Ranked> hourIndex = new ConcurrentSkipListSet<>(BY_RANK);
+    private final NavigableSet<Ranked> dayIndex = new ConcurrentSkipListSet<>(BY_RANK);
+    // When each bucket leaves its window; only the sweep removes entries
+    private final NavigableSet<Expiry> expiries = new ConcurrentSkipListSet<>(
+        Comparator.comparingLong(Expiry::at).thenComparingLong(Expiry::blogId));
+    private final double[] weights;
+    private final long hourHalfLifeMillis;
+    private final long dayHalfLifeMillis;
+    private final int maxSize;
+
+    // Events before the fence are counted by rebuild() from the tables and ignored by record()
+    private volatile long fence = Long.MIN_VALUE;
+
+    public TrendingEngine(JdbcTemplate jdbcTemplate,
+                          @Value("${engagement.trending.weights.like:5}") double likeWeight,
+                          @Value("${engagement.trending.weights.view:1}") double viewWeight,
+                          @Value("${engagement.trending.weights.comment:10}") double commentWeight,
+                          @Value("${engagement.trending.hour-half-life:PT20M}") Duration hourHalfLife,
+                          @Value("${engagement.trending.day-half-life:PT6H}") Duration dayHalfLife,
+                          @Value("${engagement.trending.max-size:100}") int maxSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.weights = new double[] {likeWeight, viewWeight, commentWeight};
+        this.hourHalfLifeMillis = hourHalfLife.toMillis();
+        this.dayHalfLifeMillis = dayHalfLife.toMillis();
+        this.maxSize = maxSize;
+    }
+
+    public void record(Long blogId, Activity type) {
+        record(blogId, type, System.currentTimeMillis(), 1);
+    }
+
+    /**
+     * Takes back one earlier event, e.g. after an unlike. The negative count lands in the current
+     * bucket, so the blog's score drops by the full weight now and recovers only as that bucket ages.
+     */
+    public void retract(Long blogId, Activity type) {
+        record(blogId, type, System.currentTimeMillis(), -1);
+    }
+
+    /**
+     * The top entries of the window's index, at most max-size; scores are decayed to now.
+     */
+    public List<TrendingBlog> getTrending(Window window, int limit) {
+        NavigableSet<Ranked> index = window == Window.HOUR ? hourIndex : dayIndex;
+        long halfLifeMillis = window == Window.HOUR ? hourHalfLifeMillis : dayHalfLifeMillis;
+        int size = Math.max(0, Math.min(limit, maxSize));
+        long now = System.currentTimeMillis();
+        List<TrendingBlog> leaders = new ArrayList<>(size);
+        for (Ranked ranked : index) {
+            if (leaders.size() >= size) {
+                break;
+            }
+            leaders.add(ranked.toTrendingBlog(now, halfLifeMillis));
+        }
+        return leaders;
+    }
+
+    /**
+     * Replaces the in-memory state with the last hour and day of the likes, views and comments tables,
+     * up to a fence taken first: rows before it are read here and events before it are dropped by
+     * record(), rows after it only arrive through record(), so no event is counted twice.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            long now = System.currentTimeMillis();
+            fence = now;
+            for (Map.Entry<Long, BlogActivity> entry : activity.entrySet()) {
+                synchronized (entry.getValue()) {
+                    evict(entry.getKey(), entry.getValue());
+                }
+            }
+            LocalDateTime until = toLocalDateTime(now);
+            LocalDateTime minutesSince = toLocalDateTime(now - 59 * MINUTE_MILLIS).withSecond(0).withNano(0);
+            LocalDateTime hoursSince = toLocalDateTime(now - 23 * HOUR_MILLIS).withMinute(0).withSecond(0).withNano(0);
+            String[] tables = {"likes", "views", "comments"};
+            Activity[] types = {Activity.LIKE, Activity.VIEW, Activity.COMMENT};
+            for (int i = 0; i < tables.length; i++) {
+                loadBuckets(tables[i], types[i], "%Y-%m-%d %H:%i:00", minutesSince, until, true);
+                loadBuckets(tables[i], types[i], "%Y-%m-%d %H:00:00", hoursSince, until, false);
+            }
+            log.info("Trending state rebuilt for {} blogs", activity.size());
+        } catch (Exception e) {
+            log.error("Failed to rebuild trending state: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Drops buckets that have left their window and re-ranks their blogs; blogs with no bucket left
+     * are evicted. Only touches blogs with a due bucket.
+     */
+    @Scheduled(fixedDelayString = "${engagement.trending.expire-interval:PT1S}")
+    public void expire() {
+        long now = System.currentTimeMillis();
+        Expiry due;
+        while ((due = expiries.pollFirst()) != null) {
+            if (due.at() > now) {
+                expiries.add(due);
+                return;
+            }
+            BlogActivity blog = activity.get(due.blogId());
+            if (blog == null) {
+                continue;
+            }
+            synchronized (blog) {
+                if (blog.evicted) {
+                    continue;
+                }
+                if (blog.minutes.expire(now, weights)) {
+                    rank(due.blogId(), blog.minutes, hourIndex);
+                }
+                if (blog.hours.expire(now, weights)) {
+                    rank(due.blogId(), blog.hours, dayIndex);
+                }
+                if (blog.minutes.isEmpty() && blog.hours.isEmpty()) {
+                    evict(due.blogId(), blog);
+                }
+            }
+        }
+    }
+
+    private void record(Long blogId, Activity type, long timeMillis, long amount) {
+        while (true) {
+            BlogActivity blog = activity.computeIfAbsent(blogId, id -> newActivity());
+            synchronized (blog) {
+                if (blog.evicted) {
+                    continue; // evicted by a concurrent sweep or rebuild; retry on the replacement
+                }
+                if (timeMillis < fence) {
+                    return;
+                }
+                add(blogId, blog.minutes, hourIndex, type, timeMillis, amount);
+                add(blogId, blog.hours, dayIndex, type, timeMillis, amount);
+                return;
+            }
+        }
+    }
+
+    private void loadBuckets(String table, Activity type, String bucketFormat, LocalDateTime since,
+                             LocalDateTime until, boolean minutes) {
+        jdbcTemplate.query(String.format(BUCKET_COUNTS_SQL, table), rs -> {
+            long blogId = rs.getLong(1);
+            long bucketMillis = rs.getTimestamp(2).toLocalDateTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            long count = rs.getLong(3);
+            while (true) {
+                BlogActivity blog = activity.computeIfAbsent(blogId, id -> newActivity());
+                synchronized (blog) {
+                    if (blog.evicted) {
+                        continue;
+                    }
+                    if (minutes) {
+                        add(blogId, blog.minutes, hourIndex, type, bucketMillis, count);
+                    } else {
+                        add(blogId, blog.hours, dayIndex, type, bucketMillis, count);
+                    }
+                    break;
+                }
+            }
+        }, bucketFormat, since, until);
+    }
+
+    /**
+     * Caller holds the blog's lock.
+     */
+    private void add(Long blogId, BucketRing ring, NavigableSet<Ranked> index, Activity type, long timeMillis, long amount) {
+        long created = ring.add(type, timeMillis, amount, weights);
+        if (created != 0) {
+            expiries.add(new Expiry(created + ring.span(), blogId));
+        }
+        rank(blogId, ring, index);
+    }
+
+    /**
+     * Moves the blog's entry to its current key; blogs without a positive score are not ranked.
+     * Caller holds the blog's lock.
+     */
+    private static void rank(Long blogId, BucketRing ring, NavigableSet<Ranked> index) {
+        Ranked next = ring.toRanked(blogId);
+        if (ring.ranked != null) {
+            index.remove(ring.ranked);
+        }
+        if (next != null) {
+            index.add(next);
+        }
+        ring.ranked = next;
+    }
+
+    /**
+     * Caller holds the blog's lock.
+     */
+    private void evict(Long blogId, BlogActivity blog) {
+        blog.evicted = true;
+        activity.remove(blogId, blog);
+        if (blog.minutes.ranked != null) {
+            hourIndex.remove(blog.minutes.ranked);
+        }
+        if (blog.hours.ranked != null) {
+            dayIndex.remove(blog.hours.ranked);
+        }
+    }
+
+    private BlogActivity newActivity() {
+        return new BlogActivity(new BucketRing(60, MINUTE_MILLIS, hourHalfLifeMillis),
+            new BucketRing(24, HOUR_MILLIS, dayHalfLifeMillis));
+    }
+
+    private static LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private static final class BlogActivity {
+        private final BucketRing minutes;
+        private final BucketRing hours;
+        private boolean evicted;
+
+        private BlogActivity(BucketRing minutes, BucketRing hours) {
+            this.minutes = minutes;
+            this.hours = hours;
+        }
+    }
+
+    /**
+     * A blog's position in a window's index. The key is log2 of the blog's score scaled to time zero,
+     * so keys of different blogs compare the same at any time; totals are copied for the response.
+     */
+    private record Ranked(double key, long blogId, long likes, long views, long comments) {
+
+        private TrendingBlog toTrendingBlog(long now, long halfLifeMillis) {
+            return TrendingBlog.builder()
+                .blogId(blogId)
+                .score(Math.pow(2, key - (double) now / halfLifeMillis))
+                .likes(likes)
+                .views(views)
+                .comments(comments)
+                .build();
+        }
+    }
+
+    private record Expiry(long at, long blogId) {}
+
+    /**
+     * Fixed ring of time buckets holding one count per activity type; a slot is reset when reused or
+     * expired. Keeps the weighted, decayed sum of its buckets relative to the newest bucket's midpoint,
+     * so the sum stays within a few half-lives of the weights and cannot overflow.
+     */
+    private static final class BucketRing {
+        private final long bucketMillis;
+        private final long halfLifeMillis;
+        private final long[] starts;
+        private final long[][] counts;
+        private final long[] totals = new long[Activity.values().length];
+        private double sum;
+        private long landmark;
+        private Ranked ranked;
+
+        private BucketRing(int size, long bucketMillis, long halfLifeMillis) {
+            this.bucketMillis = bucketMillis;
+            this.halfLifeMillis = halfLifeMillis;
+            this.starts = new long[size];
+            this.counts = new long[Activity.values().length][size];
+        }
+
+        private long span() {
+            return starts.length * bucketMillis;
+        }
+
+        /**
+         * Returns the start of the bucket if this created it, 0 otherwise.
+         */
+        private long add(Activity type, long timeMillis, long amount, double[] weights) {
+            long start = timeMillis - Math.floorMod(timeMillis, bucketMillis);
+            int slot = (int) Math.floorMod(start / bucketMillis, (long) starts.length);
+            long created = 0;
+            if (starts[slot] != start) {
+                if (starts[slot] > start) {
+                    return 0; // older than the ring
+                }
+                if (starts[slot] != 0) {
+                    // The bucket this slot held has left the window but was not swept yet
+                    clear(slot);
+                    recompute(weights);
+                }
+                starts[slot] = start;
+                created = start;
+            }
+            long midpoint = start + bucketMillis / 2;
+            if (midpoint > landmark) {
+                sum *= decay(landmark - midpoint);
+                landmark = midpoint;
+            }
+            counts[type.ordinal()][slot] += amount;
+            totals[type.ordinal()] += amount;
+            sum += weights[type.ordinal()] * amount * decay(midpoint - landmark);
+            return created;
+        }
+
+        /**
+         * Clears the buckets that have left the window; returns whether any did.
+         */
+        private boolean expire(long now, double[] weights) {
+            boolean expired = false;
+            for (int slot = 0; slot < starts.length; slot++) {
+                if (starts[slot] != 0 && starts[slot] <= now - span()) {
+                    clear(slot);
+                    expired = true;
+                }
+            }
+            if (expired) {
+                recompute(weights);
+            }
+            return expired;
+        }
+
+        private boolean isEmpty() {
+            for (long start : starts) {
+                if (start != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Ranked toRanked(Long blogId) {
+            if (sum <= 0) {
+                return null;
+            }
+            double key = Math.log(sum) / Math.log(2) + (double) landmark / halfLifeMillis;
+            // A retraction can outlive the event it cancels in the ring
+            return new Ranked(key, blogId, Math.max(0, totals[Activity.LIKE.ordinal()]),
+                Math.max(0, totals[Activity.VIEW.ordinal()]), Math.max(0, totals[Activity.COMMENT.ordinal()]));
+        }
+
+        private void clear(int slot) {
+            starts[slot] = 0;
+            for (long[] typeCounts : counts) {
+                typeCounts[slot] = 0;
+            }
+        }
+
+        /**
+         * Rebuilds the sum and totals from the buckets, so removals leave no rounding residue.
+         */
+        private void recompute(double[] weights) {
+            sum = 0;
+            Arrays.fill(totals, 0);
+            for (int slot = 0; slot < starts.length; slot++) {
+                if (starts[slot] == 0) {
+                    continue;
+                }
+                double decay = decay(starts[slot] + bucketMillis / 2 - landmark);
+                for (int type = 0; type < counts.length; type++) {
+                    totals[type] += counts[type][slot];
+                    sum += weights[type] * counts[type][slot] * decay;
+                }
+            }
+        }
+
+        private double decay(long ageMillis) {
+            return Math.pow(2, (double) ageMillis / halfLifeMillis);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.blogspot.engagement.service;
+
+import com.blogspot.engagement.model.BlogUniqueViewers;
+import com.blogspot.engagement.repository.BlogUniqueViewersRepository;
+import com.blogspot.engagement.util.HyperLogLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Distinct-viewer estimates per blog from HyperLogLog sketches. Views are added to an in-memory
+ * sketch of what this node saw since its last flush; on flush it is merged into the persisted
+ * sketch under a row lock, so sketches from all nodes combine. Reads estimate from a cached copy
+ * of the persisted sketch merged with local views: constant memory and time per blog. Only blogs with
+ * views are cached, at most max-blogs of them; idle blogs are evicted on flush.
+ * <p>
+ * Each blog has one sketch covering all time, so estimates are all-time distinct viewers. A
+ * sketch cannot drop old viewers; windowed counts would need a sketch per blog and day.
+ */
+@Component
+@Slf4j
+public class UniqueViewerCounter {
+
+    private final BlogUniqueViewersRepository uniqueViewersRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, BlogSketch> sketches = new ConcurrentHashMap<>();
+    private final long idleTimeoutMillis;
+    private final int maxBlogs;
+
+    public UniqueViewerCounter(BlogUniqueViewersRepository uniqueViewersRepository,
+                               TransactionTemplate transactionTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${engagement.views.unique.idle-timeout:PT10M}") Duration idleTimeout,
+                               @Value("${engagement.views.unique.max-blogs:10000}") int maxBlogs) {
+        this.uniqueViewersRepository = uniqueViewersRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        this.maxBlogs = maxBlogs;
+        meterRegistry.gaugeMapSize("engagement.views.unique.sketches", Tags.empty(), sketches);
+    }
+
+    /**
+     * Adds the viewer (see {@link com.blogspot.engagement.util.ViewerKey}); views without one are ignored.
+     */
+    public void record(Long blogId, String viewerKey) {
+        if (viewerKey == null) {
+            return;
+        }
+        long hash = HyperLogLog.hash64(viewerKey);
+        BlogSketch sketch;
+        do {
+            sketch = sketches.computeIfAbsent(blogId, id -> new BlogSketch());
+            synchronized (sketch) {
+                sketch.pending.addHash(hash);
+                sketch.dirty = true;
+                if (sketch.merged != null) {
+                    sketch.merged.addHash(hash);
+                    sketch.cachedEstimate = -1;
+                }
+                sketch.lastTouched = System.currentTimeMillis();
+            }
+            // Re-add to the replacement if the sketch was evicted meanwhile; adding twice is harmless
+        } while (sketches.get(blogId) != sketch);
+    }
+
+    public long estimate(Long blogId) {
+        BlogSketch sketch = sketches.get(blogId);
+        if (sketch == null) {
+            // Nothing is cached for blogs without a persisted sketch, so lookups of arbitrary ids cannot grow the map
+            Optional<BlogUniqueViewers> row = uniqueViewersRepository.findById(blogId);
+            if (row.isEmpty()) {
+                return 0L;
+            }
+            HyperLogLog loaded = HyperLogLog.fromBytes(row.get().getSketch());
+            if (sketches.size() >= maxBlogs) {
+                return loaded.estimate();
+            }
+            BlogSketch cached = new BlogSketch();
+            cached.merged = loaded;
+            sketch = sketches.putIfAbsent(blogId, cached);
+            if (sketch == null) {
+                sketch = cached;
+            }
+        }
+        HyperLogLog persisted = null;
+        if (sketch.merged == null) {
+            persisted = uniqueViewersRepository.findById(blogId)
+                .map(row -> HyperLogLog.fromBytes(row.getSketch()))
+                .orElseGet(HyperLogLog::new);
+        }
+        synchronized (sketch) {
+            if (sketch.merged == null) {
+                // Merging is idempotent, so views recorded while loading are safe to apply again
+                persisted.merge(sketch.pending);
+                sketch.merged = persisted;
+            }
+            if (sketch.cachedEstimate < 0) {
+                sketch.cachedEstimate = sketch.merged.estimate();
+            }
+            return sketch.cachedEstimate;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${engagement.views.unique.flush-interval:PT30S}")
+    public void flush() {
+        for (Map.Entry<Long, BlogSketch> entry : sketches.entrySet()) {
+            Long blogId = entry.getKey();
+            BlogSketch sketch = entry.getValue();
+            HyperLogLog pending;
+            synchronized (sketch) {
+                if (!sketch.dirty) {
+                    continue;
+                }
+                pending = sketch.pending;
+                sketch.pending = new HyperLogLog();
+                sketch.dirty = false;
+            }
+            try {
+                HyperLogLog persisted = transactionTemplate.execute(status -> mergeIntoPersisted(blogId, pending));
+                synchronized (sketch) {
+                    if (sketch.merged != null) {
+                        // Picks up what other nodes have flushed since this blog was loaded
+                        sketch.merged.merge(persisted);
+                        sketch.cachedEstimate = -1;
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("Failed to flush unique viewer sketch for blog {}: {}", blogId, e.getMessage());
+                synchronized (sketch) {
+                    sketch.pending.merge(pending);
+                    sketch.dirty = true;
+                }
+            }
+        }
+
+        long idleBefore = System.currentTimeMillis() - idleTimeoutMillis;
+        sketches.entrySet().removeIf(entry -> !entry.getValue().dirty && entry.getValue().lastTouched < idleBefore);
+        if (sketches.size() > maxBlogs) {
+            // Still over the bound: drop the least recently touched blogs that have nothing to flush
+            List<Map.Entry<Long, BlogSketch>> flushed = new ArrayList<>();
+            for (Map.Entry<Long, BlogSketch> entry : sketches.entrySet()) {
+                if (!entry.getValue().dirty) {
+                    flushed.add(entry);
+                }
+            }
+            flushed.sort(Comparator.comparingLong(entry -> entry.getValue().lastTouched));
+            int excess = sketches.size() - maxBlogs;
+            for (int i = 0; i < excess && i < flushed.size(); i++) {
+                sketches.remove(flushed.get(i).getKey(), flushed.get(i).getValue());
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private HyperLogLog mergeIntoPersisted(Long blogId, HyperLogLog pending) {
+        BlogUniqueViewers row = uniqueViewersRepository.findForUpdate(blogId).orElse(null);
+        HyperLogLog persisted = pending.copy();
+        if (row == null) {
+            // A concurrent first insert from another node fails on the primary key and is retried next flush
+            row = BlogUniqueViewers.builder().blogId(blogId).build();
+        } else {
+            persisted.merge(HyperLogLog.fromBytes(row.getSketch()));
+        }
+        row.setSketch(persisted.toBytes());
+        row.setUpdatedAt(LocalDateTime.now());
+        uniqueViewersRepository.saveAndFlush(row);
+        return persisted;
+    }
+
+    private static final class BlogSketch {
+        private HyperLogLog pending = new HyperLogLog();
+        private volatile HyperLogLog merged;
+        private long cachedEstimate = -1;
+        private volatile boolean dirty;
+        private volatile long lastTouched = System.currentTimeMillis();
+    }
+}
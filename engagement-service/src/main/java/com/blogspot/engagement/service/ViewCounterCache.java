@@ -0,0 +1,222 @@
+package com.blogspot.engagement.service;
+
+import com.blogspot.engagement.model.BlogEngagementStats;
+import com.blogspot.engagement.repository.BlogEngagementStatsRepository;
+import com.blogspot.engagement.repository.ViewRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process view counters per blog. Each recorded view increments a striped {@link LongAdder},
+ * so a viral post does not serialize on one database row; the accumulated deltas are written to
+ * blog_engagement_stats on a schedule and at shutdown. View counts are served from memory as the
+ * persisted total plus the pending delta. Blogs with no new views for idle-timeout are evicted,
+ * and the map is trimmed to max-blogs on every flush.
+ */
+@Component
+@Slf4j
+public class ViewCounterCache {
+
+    private static final long NOT_LOADED = -1L;
+    // Counter states; only the flush thread changes them
+    private static final int LIVE = 0;
+    private static final int EVICTING = 1;
+    private static final int EVICTED = 2;
+
+    private final EngagementStatsWriter statsWriter;
+    private final BlogEngagementStatsRepository statsRepository;
+    private final ViewRepository viewRepository;
+
+    private final Map<Long, BlogViewCounter> counters = new ConcurrentHashMap<>();
+    private final long idleTimeoutMillis;
+    private final int maxBlogs;
+
+    private final Counter flushedViews;
+    private final Counter evictions;
+
+    public ViewCounterCache(EngagementStatsWriter statsWriter,
+                            BlogEngagementStatsRepository statsRepository,
+                            ViewRepository viewRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${engagement.views.counters.idle-timeout:PT10M}") Duration idleTimeout,
+                            @Value("${engagement.views.counters.max-blogs:100000}") int maxBlogs) {
+        this.statsWriter = statsWriter;
+        this.statsRepository = statsRepository;
+        this.viewRepository = viewRepository;
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        this.maxBlogs = maxBlogs;
+        this.flushedViews = meterRegistry.counter("engagement.views.counters.flushed");
+        this.evictions = meterRegistry.counter("engagement.views.counters.evictions");
+        meterRegistry.gaugeMapSize("engagement.views.counters.size", Tags.empty(), counters);
+    }
+
+    public void increment(Long blogId) {
+        while (true) {
+            BlogViewCounter counter = counters.get(blogId);
+            if (counter == null) {
+                counter = counters.computeIfAbsent(blogId, id -> new BlogViewCounter());
+            }
+            counter.pending.increment();
+            long now = System.currentTimeMillis();
+            // Coarse timestamp: avoids a shared volatile write on every view of a hot blog
+            if (now - counter.lastTouched > 1000) {
+                counter.lastTouched = now;
+            }
+            // The increment is written before the state is read and the evictor writes the state before
+            // reading pending, so either this sees the eviction or the evictor sees the view and backs off
+            int state = counter.state;
+            while (state == EVICTING) {
+                Thread.onSpinWait();
+                state = counter.state;
+            }
+            if (state == LIVE) {
+                return;
+            }
+            // Evicted without this view; count it on the counter that replaces it
+        }
+    }
+
+    /**
+     * Persisted total plus views not yet flushed. The persisted total is loaded once per cached blog.
+     * Only blogs that received a view on this node are cached, so lookups of arbitrary ids cannot
+     * grow the map.
+     */
+    public long getViewCount(Long blogId) {
+        BlogViewCounter counter = counters.get(blogId);
+        if (counter == null) {
+            return loadPersisted(blogId);
+        }
+        if (counter.persisted.get() == NOT_LOADED) {
+            // Keep a value already installed by a concurrent flush
+            counter.persisted.compareAndSet(NOT_LOADED, loadPersisted(blogId));
+        }
+        synchronized (counter) {
+            return counter.persisted.get() + counter.pending.sum();
+        }
+    }
+
+    /**
+     * Views counted in memory but not yet written to blog_engagement_stats.
+     */
+    public long pendingCount(Long blogId) {
+        BlogViewCounter counter = counters.get(blogId);
+        return counter != null ? counter.pending.sum() : 0L;
+    }
+
+    @Scheduled(fixedDelayString = "${engagement.views.counters.flush-interval:PT5S}")
+    public void flush() {
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Map.Entry<Long, BlogViewCounter> entry : counters.entrySet()) {
+            long delta = entry.getValue().pending.sum();
+            if (delta > 0) {
+                deltas.put(entry.getKey(), delta);
+            }
+        }
+
+        for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+            Long blogId = entry.getKey();
+            long delta = entry.getValue();
+            long newCount;
+            try {
+                // Also checks view milestones against the values read under the row lock
+                newCount = statsWriter.applyDelta(blogId, 0, delta, 0).after().views();
+            } catch (Exception e) {
+                // Leave the delta pending; it is retried on the next flush
+                log.warn("Failed to flush {} views for blog {}: {}", delta, blogId, e.getMessage());
+                continue;
+            }
+            BlogViewCounter counter = counters.get(blogId);
+            if (counter != null) {
+                // Moved together so readers never see the delta in both persisted and pending
+                synchronized (counter) {
+                    // Subtract rather than reset so increments racing with the flush are kept
+                    counter.pending.add(-delta);
+                    counter.persisted.set(newCount);
+                }
+            }
+            flushedViews.increment(delta);
+        }
+
+        evictIdle();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private void evictIdle() {
+        long idleBefore = System.currentTimeMillis() - idleTimeoutMillis;
+        for (Map.Entry<Long, BlogViewCounter> entry : counters.entrySet()) {
+            if (entry.getValue().lastTouched < idleBefore) {
+                tryEvict(entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (counters.size() > maxBlogs) {
+            // Still over the bound: drop the least recently touched blogs that have nothing pending
+            List<Map.Entry<Long, BlogViewCounter>> flushed = new ArrayList<>();
+            for (Map.Entry<Long, BlogViewCounter> entry : counters.entrySet()) {
+                if (entry.getValue().pending.sum() == 0) {
+                    flushed.add(entry);
+                }
+            }
+            flushed.sort(Comparator.comparingLong(entry -> entry.getValue().lastTouched));
+            int excess = counters.size() - maxBlogs;
+            for (int i = 0, evicted = 0; evicted < excess && i < flushed.size(); i++) {
+                if (tryEvict(flushed.get(i).getKey(), flushed.get(i).getValue())) {
+                    evicted++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes a counter with nothing pending. Marks it first, then re-reads pending: an increment that
+     * slipped in before the mark is seen here and the counter stays; one after it sees the mark and
+     * waits for the outcome, retrying on a new counter if the eviction went ahead.
+     */
+    private boolean tryEvict(Long blogId, BlogViewCounter counter) {
+        if (counter.pending.sum() != 0) {
+            return false;
+        }
+        counter.state = EVICTING;
+        if (counter.pending.sum() != 0) {
+            counter.state = LIVE;
+            return false;
+        }
+        counter.state = EVICTED;
+        counters.remove(blogId, counter);
+        evictions.increment();
+        return true;
+    }
+
+    private long loadPersisted(Long blogId) {
+        return statsRepository.findById(blogId)
+            .map(BlogEngagementStats::getViewCount)
+            .orElseGet(() -> viewRepository.countTotalByBlogId(blogId));
+    }
+
+    private static final class BlogViewCounter {
+        private final LongAdder pending = new LongAdder();
+        private final AtomicLong persisted = new AtomicLong(NOT_LOADED);
+        private volatile long lastTouched = System.currentTimeMillis();
+        private volatile int state = LIVE;
+    }
+}
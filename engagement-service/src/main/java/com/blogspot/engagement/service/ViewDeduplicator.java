@@ -0,0 +1,74 @@
+package com.blogspot.engagement.service;
+
+import com.blogspot.engagement.util.BloomFilter;
+import com.blogspot.engagement.util.HyperLogLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Suppresses repeat views of a blog by the same viewer within a time window, so refreshes and
+ * client retries never reach the database. Two Bloom filters rotate every window: views are
+ * recorded in the current one and checked against both, so a viewer is remembered for between
+ * one and two windows in fixed memory. A false positive suppresses a genuine first view at
+ * roughly the configured rate.
+ */
+@Component
+public class ViewDeduplicator {
+
+    private final long expectedViewsPerWindow;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+
+    private final Counter accepted;
+    private final Counter suppressed;
+
+    public ViewDeduplicator(MeterRegistry meterRegistry,
+                            @Value("${engagement.views.dedup.expected-views-per-window:1000000}") long expectedViewsPerWindow,
+                            @Value("${engagement.views.dedup.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.expectedViewsPerWindow = expectedViewsPerWindow;
+        this.falsePositiveRate = falsePositiveRate;
+        this.current = new BloomFilter(expectedViewsPerWindow, falsePositiveRate);
+        this.previous = new BloomFilter(expectedViewsPerWindow, falsePositiveRate);
+        this.accepted = meterRegistry.counter("engagement.views.dedup", "result", "accepted");
+        this.suppressed = meterRegistry.counter("engagement.views.dedup", "result", "suppressed");
+    }
+
+    /**
+     * Returns true if this is the viewer's first view of the blog within the window and should be recorded.
+     * Views without a viewer key cannot be deduplicated and are always accepted. Only checks: the view is
+     * remembered by {@link #markViewed} once it has actually been recorded, so a view that is shed can be
+     * retried. Two requests racing between the check and the mark may both be recorded.
+     */
+    public boolean isFirstView(Long blogId, String viewerKey) {
+        if (viewerKey == null) {
+            accepted.increment();
+            return true;
+        }
+        long hash = hash(blogId, viewerKey);
+        boolean first = !current.mightContain(hash) && !previous.mightContain(hash);
+        (first ? accepted : suppressed).increment();
+        return first;
+    }
+
+    public void markViewed(Long blogId, String viewerKey) {
+        if (viewerKey != null) {
+            current.put(hash(blogId, viewerKey));
+        }
+    }
+
+    @Scheduled(initialDelayString = "${engagement.views.dedup.window:PT30M}",
+               fixedRateString = "${engagement.views.dedup.window:PT30M}")
+    public void rotate() {
+        previous = current;
+        current = new BloomFilter(expectedViewsPerWindow, falsePositiveRate);
+    }
+
+    private static long hash(Long blogId, String viewerKey) {
+        return HyperLogLog.hash64(blogId + "|" + viewerKey);
+    }
+}
@@ -0,0 +1,165 @@
+package com.blogspot.engagement.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer for raw view rows. Requests only enqueue; a single background writer drains the
+ * queue and persists each batch with one JDBC batch insert, so the view endpoint no longer waits on
+ * MySQL. When the queue is full, views are shed after offer-timeout. Views are best-effort: a batch
+ * that fails to flush is logged and dropped. View counters are maintained by {@link ViewCounterCache}.
+ */
+@Component
+@Slf4j
+public class ViewIngestionBuffer {
+
+    private static final String INSERT_VIEW_SQL =
+        "INSERT INTO views (blog_id, username, ip_address, created_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<PendingView> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long offerTimeoutMillis;
+
+    private final Counter accepted;
+    private final Counter shed;
+    private final Counter persisted;
+    private final Counter dropped;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public ViewIngestionBuffer(JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${engagement.views.buffer.capacity:100000}") int capacity,
+                               @Value("${engagement.views.buffer.batch-size:500}") int batchSize,
+                               @Value("${engagement.views.buffer.flush-interval:PT1S}") Duration flushInterval,
+                               @Value("${engagement.views.buffer.offer-timeout:PT0S}") Duration offerTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushInterval.toMillis();
+        this.offerTimeoutMillis = offerTimeout.toMillis();
+        this.accepted = meterRegistry.counter("engagement.views.buffer", "result", "accepted");
+        this.shed = meterRegistry.counter("engagement.views.buffer", "result", "shed");
+        this.persisted = meterRegistry.counter("engagement.views.buffer.flushed", "result", "persisted");
+        this.dropped = meterRegistry.counter("engagement.views.buffer.flushed", "result", "dropped");
+        meterRegistry.gaugeCollectionSize("engagement.views.buffer.size", Tags.empty(), queue);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "view-ingestion-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stops the writer and flushes whatever is still queued before the datasource shuts down.
+     */
+    @PreDestroy
+    void stop() {
+        running = false;
+        try {
+            writer.join(flushIntervalMillis * 2 + 5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PendingView> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Queues a view for persistence. Returns false if the buffer is full and the view was shed.
+     */
+    public boolean enqueue(Long blogId, String username, String ipAddress) {
+        PendingView view = new PendingView(blogId, username, ipAddress, LocalDateTime.now());
+        boolean queued;
+        try {
+            queued = offerTimeoutMillis > 0
+                ? queue.offer(view, offerTimeoutMillis, TimeUnit.MILLISECONDS)
+                : queue.offer(view);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        (queued ? accepted : shed).increment();
+        return queued;
+    }
+
+    private void drainLoop() {
+        List<PendingView> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                long deadline = System.currentTimeMillis() + flushIntervalMillis;
+                // Fill the batch until it is full or the flush interval has elapsed
+                while (batch.size() < batchSize) {
+                    long wait = deadline - System.currentTimeMillis();
+                    PendingView view = wait > 0 ? queue.poll(wait, TimeUnit.MILLISECONDS) : null;
+                    if (view == null) {
+                        break;
+                    }
+                    batch.add(view);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("View writer loop failed: {}", e.getMessage(), e);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<PendingView> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_VIEW_SQL, batch, batch.size(), (ps, view) -> {
+                    ps.setLong(1, view.blogId());
+                    ps.setString(2, view.username());
+                    ps.setString(3, view.ipAddress());
+                    ps.setTimestamp(4, Timestamp.valueOf(view.createdAt()));
+                }));
+            persisted.increment(batch.size());
+        } catch (Exception e) {
+            dropped.increment(batch.size());
+            log.error("Failed to flush {} buffered views: {}", batch.size(), e.getMessage(), e);
+        }
+    }
+
+    private record PendingView(Long blogId, String username, String ipAddress, LocalDateTime createdAt) {}
+}
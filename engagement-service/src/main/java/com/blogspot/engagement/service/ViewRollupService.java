@@ -0,0 +1,199 @@
+package com.blogspot.engagement.service;
+
+import com.blogspot.engagement.dto.EngagementDtos.ViewPoint;
+import com.blogspot.engagement.dto.EngagementDtos.ViewTimeseries;
+import com.blogspot.engagement.model.DailyViewRollup;
+import com.blogspot.engagement.model.HourlyViewRollup;
+import com.blogspot.engagement.model.ViewRollupProgress;
+import com.blogspot.engagement.repository.DailyViewRollupRepository;
+import com.blogspot.engagement.repository.HourlyViewRollupRepository;
+import com.blogspot.engagement.repository.ViewRepository;
+import com.blogspot.engagement.repository.ViewRollupProgressRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Rolls raw views up into hourly and daily per-blog counts and purges raw rows past retention.
+ * Each run advances a watermark one chunk of whole hours at a time: hours before the watermark are
+ * in view_rollups_hourly and view_rollups_daily, hours after it only in the views table. Raw views
+ * are only deleted below the watermark, so every view is always counted exactly once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ViewRollupService {
+
+    private static final int PURGE_BATCH_SIZE = 10000;
+
+    private final ViewRepository viewRepository;
+    private final HourlyViewRollupRepository hourlyRepository;
+    private final DailyViewRollupRepository dailyRepository;
+    private final ViewRollupProgressRepository progressRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Views are written asynchronously, so an hour is only rolled up once it is this far in the past
+    @Value("${engagement.views.rollup.lateness:PT5M}")
+    private Duration lateness;
+
+    @Value("${engagement.views.rollup.chunk:PT24H}")
+    private Duration chunk;
+
+    @Value("${engagement.views.retention:P30D}")
+    private Period rawRetention;
+
+    @Value("${engagement.views.rollup.hourly-retention:P90D}")
+    private Period hourlyRetention;
+
+    @Value("${engagement.views.timeseries.max-points:2000}")
+    private int maxPoints;
+
+    @Scheduled(initialDelayString = "${engagement.views.rollup.initial-delay:PT1M}",
+               fixedDelayString = "${engagement.views.rollup.interval:PT10M}")
+    public void rollUpAndPurge() {
+        try {
+            int chunks = 0;
+            // One transaction per chunk so a long backlog does not hold the watermark lock for long
+            while (Boolean.TRUE.equals(transactionTemplate.execute(status -> rollUpNextChunk()))) {
+                chunks++;
+            }
+            LocalDateTime watermark = progressRepository.findById(ViewRollupProgress.VIEWS)
+                .map(ViewRollupProgress::getRolledUpTo)
+                .orElse(null);
+            if (watermark == null) {
+                return;
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime rawCutoff = now.minus(rawRetention);
+            if (rawCutoff.isAfter(watermark)) {
+                rawCutoff = watermark;
+            }
+            long purged = 0;
+            int deleted;
+            // Small batches keep each delete transaction and its locks short
+            do {
+                deleted = viewRepository.deleteOlderThan(rawCutoff, PURGE_BATCH_SIZE);
+                purged += deleted;
+            } while (deleted == PURGE_BATCH_SIZE);
+            int hourlyPurged = hourlyRepository.deleteOlderThan(now.minus(hourlyRetention).truncatedTo(ChronoUnit.DAYS));
+            log.info("View rollup up to {} ({} chunks); purged {} raw views and {} hourly rollups",
+                    watermark, chunks, purged, hourlyPurged);
+        } catch (Exception e) {
+            log.error("View rollup failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Rolls up the next chunk after the watermark. Returns false when there is nothing complete to roll up.
+     */
+    private boolean rollUpNextChunk() {
+        LocalDateTime complete = LocalDateTime.now().minus(lateness).truncatedTo(ChronoUnit.HOURS);
+        ViewRollupProgress progress = progressRepository.findForUpdate(ViewRollupProgress.VIEWS).orElse(null);
+        if (progress == null) {
+            LocalDateTime earliest = viewRepository.findEarliestCreatedAt();
+            // A concurrent first insert from another node fails on the primary key; the next run continues
+            progress = progressRepository.saveAndFlush(ViewRollupProgress.builder()
+                .id(ViewRollupProgress.VIEWS)
+                .rolledUpTo(earliest != null ? earliest.truncatedTo(ChronoUnit.HOURS) : complete)
+                .build());
+        }
+
+        LocalDateTime from = progress.getRolledUpTo();
+        LocalDateTime to = from.plus(chunk).truncatedTo(ChronoUnit.HOURS);
+        if (to.isAfter(complete)) {
+            to = complete;
+        }
+        if (!to.isAfter(from)) {
+            return false;
+        }
+        hourlyRepository.rollUpFromViews(from, to);
+        dailyRepository.rollUpFromHourly(from, to);
+        progress.setRolledUpTo(to);
+        return true;
+    }
+
+    /**
+     * Views per hour or day in [from, to). Buckets with no views are returned as zero.
+     */
+    @Transactional(readOnly = true)
+    public ViewTimeseries getTimeseries(Long blogId, LocalDateTime from, LocalDateTime to, String granularity) {
+        ChronoUnit unit = parseGranularity(granularity);
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new IllegalArgumentException("'to' must be after 'from'");
+        }
+        LocalDateTime start = from.truncatedTo(unit);
+        if (unit.between(start, to) > maxPoints) {
+            throw new IllegalArgumentException("Range exceeds " + maxPoints + " points");
+        }
+
+        Map<LocalDateTime, Long> buckets = new LinkedHashMap<>();
+        for (LocalDateTime bucket = start; bucket.isBefore(to); bucket = bucket.plus(1, unit)) {
+            buckets.put(bucket, 0L);
+        }
+        if (unit == ChronoUnit.HOURS) {
+            for (HourlyViewRollup rollup : hourlyRepository.findRange(blogId, start, to)) {
+                buckets.merge(rollup.getBucketStart(), rollup.getViewCount(), Long::sum);
+            }
+        } else {
+            for (DailyViewRollup rollup : dailyRepository.findRange(blogId, start, to)) {
+                buckets.merge(rollup.getBucketStart(), rollup.getViewCount(), Long::sum);
+            }
+        }
+
+        // Hours after the watermark are not rolled up yet; count them from the raw table
+        LocalDateTime watermark = progressRepository.findById(ViewRollupProgress.VIEWS)
+            .map(ViewRollupProgress::getRolledUpTo)
+            .orElse(LocalDateTime.MIN);
+        LocalDateTime rawFrom = watermark.isAfter(start) ? watermark : start;
+        if (rawFrom.isBefore(to)) {
+            for (Object[] row : viewRepository.countPerHour(blogId, rawFrom, to)) {
+                LocalDateTime bucket = toLocalDateTime(row[0]).truncatedTo(unit);
+                buckets.computeIfPresent(bucket, (key, views) -> views + ((Number) row[1]).longValue());
+            }
+        }
+
+        List<ViewPoint> points = new ArrayList<>(buckets.size());
+        buckets.forEach((bucket, views) -> points.add(new ViewPoint(bucket, views)));
+        return ViewTimeseries.builder()
+            .blogId(blogId)
+            .granularity(unit == ChronoUnit.HOURS ? "hour" : "day")
+            .points(points)
+            .build();
+    }
+
+    private static ChronoUnit parseGranularity(String granularity) {
+        switch (granularity == null ? "hour" : granularity.toLowerCase(Locale.ROOT)) {
+            case "hour":
+            case "hourly":
+                return ChronoUnit.HOURS;
+            case "day":
+            case "daily":
+                return ChronoUnit.DAYS;
+            default:
+                throw new IllegalArgumentException("Granularity must be 'hour' or 'day'");
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
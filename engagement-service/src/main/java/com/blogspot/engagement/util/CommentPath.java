@@ -0,0 +1,35 @@
+package com.blogspot.engagement.util;
+
+/**
+ * Materialized path of a comment: the ids of its ancestors and itself, each zero-padded to ten
+ * digits and terminated by '/'. Lexical order of paths is depth-first thread order, and a
+ * comment's subtree is exactly the paths that start with its own.
+ */
+public final class CommentPath {
+
+    public static final int MAX_LENGTH = 700;
+    private static final int SEGMENT_LENGTH = 11;
+    public static final int MAX_DEPTH = MAX_LENGTH / SEGMENT_LENGTH;
+
+    private CommentPath() {
+    }
+
+    /**
+     * Path of a comment under the given parent path (null for a root comment).
+     * Throws IllegalArgumentException if the thread would exceed MAX_DEPTH levels.
+     */
+    public static String of(String parentPath, Long id) {
+        String prefix = parentPath == null ? "" : parentPath;
+        if (prefix.length() + SEGMENT_LENGTH > MAX_LENGTH) {
+            throw new IllegalArgumentException("Replies cannot be nested more than " + MAX_DEPTH + " levels deep");
+        }
+        return prefix + String.format("%010d/", id);
+    }
+
+    /**
+     * LIKE pattern matching the comment with this path and all of its descendants.
+     */
+    public static String subtreePattern(String path) {
+        return path + "%";
+    }
+}
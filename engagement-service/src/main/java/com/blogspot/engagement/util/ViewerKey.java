@@ -0,0 +1,25 @@
+package com.blogspot.engagement.util;
+
+/**
+ * Identifies who viewed a blog: signed-in viewers by username, anonymous ones by client IP.
+ */
+public final class ViewerKey {
+
+    private ViewerKey() {
+    }
+
+    /**
+     * Returns null when neither a username nor an IP address is known.
+     */
+    public static String of(String username, String ipAddress) {
+        if (username != null && !username.isBlank()) {
+            return "u:" + username;
+        }
+        if (ipAddress != null && !ipAddress.isBlank()) {
+            // X-Forwarded-For may carry a proxy chain; the first entry is the client
+            int comma = ipAddress.indexOf(',');
+            return "ip:" + (comma >= 0 ? ipAddress.substring(0, comma) : ipAddress).trim();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,189 @@
+package com.blogspot.engagement.service;
+
+import com.blogspot.engagement.dto.CommentDtos.CommentResponse;
+import com.blogspot.engagement.model.CommentEntity;
+import com.blogspot.engagement.repository.CommentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the comment tree against a real schema and counts the statements Hibernate prepares, so lazy
+ * parent loads or per-level queries would show up as extra statements.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class CommentTreeQueryCountTest {
+
+    private static final Long BLOG_ID = 1L;
+
+    @Configuration
+    @EntityScan(basePackageClasses = CommentEntity.class)
+    @EnableJpaRepositories(basePackageClasses = CommentRepository.class)
+    @Import(EngagementServiceImpl.class)
+    static class Config {
+
+        @Bean
+        CommentTreeCache commentTreeCache() {
+            return new CommentTreeCache(new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry(),
+                    Duration.ofMinutes(1), 100);
+        }
+    }
+
+    @MockitoBean
+    private EngagementStatsWriter statsWriter;
+    @MockitoBean
+    private ViewIngestionBuffer viewIngestionBuffer;
+    @MockitoBean
+    private ViewCounterCache viewCounterCache;
+    @MockitoBean
+    private UniqueViewerCounter uniqueViewerCounter;
+    @MockitoBean
+    private ViewDeduplicator viewDeduplicator;
+    @MockitoBean
+    private ViewRollupService viewRollupService;
+    @MockitoBean
+    private TrendingEngine trendingEngine;
+    @MockitoBean
+    private LikedBlogsIndex likedBlogsIndex;
+    @MockitoBean
+    private LiveCountsHub liveCountsHub;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CommentTreeCache commentTreeCache;
+
+    @Autowired
+    private EngagementService engagementService;
+
+    private Statistics statistics;
+    private LocalDateTime time;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        time = LocalDateTime.now().minusDays(1);
+        commentTreeCache.invalidate(BLOG_ID);
+    }
+
+    @Test
+    void buildsMultiLevelTreeWithOneStatement() {
+        // 20 roots, each with 3 replies that have 3 replies of their own: 260 comments on three levels
+        for (int r = 0; r < 20; r++) {
+            CommentEntity root = persist(null);
+            for (int c = 0; c < 3; c++) {
+                CommentEntity reply = persist(root);
+                for (int g = 0; g < 3; g++) {
+                    persist(reply);
+                }
+            }
+        }
+        startCounting();
+
+        List<CommentResponse> tree = engagementService.getCommentsTree(BLOG_ID);
+
+        assertEquals(20, tree.size());
+        assertTrue(tree.stream().allMatch(root -> root.getReplies().size() == 3));
+        assertTrue(tree.stream().flatMap(root -> root.getReplies().stream())
+                .allMatch(reply -> reply.getReplies().size() == 3));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityFetchCount(), "no lazy parent was initialized");
+    }
+
+    @Test
+    void deepThreadUsesOneStatementAndHonoursDepthCap() {
+        // A single chain of 200 nested replies
+        CommentEntity parent = null;
+        for (int i = 0; i < 200; i++) {
+            parent = persist(parent);
+        }
+        startCounting();
+
+        List<CommentResponse> tree = engagementService.getCommentsTree(BLOG_ID, 3, null);
+
+        int depth = 0;
+        CommentResponse node = tree.get(0);
+        while (!node.getReplies().isEmpty()) {
+            node = node.getReplies().get(0);
+            depth++;
+        }
+        assertEquals(3, depth);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void capsChildrenPerNodeKeepingOldestFirst() {
+        CommentEntity root = persist(null);
+        List<Long> replyIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            replyIds.add(persist(root).getId());
+        }
+        startCounting();
+
+        List<CommentResponse> replies = engagementService.getCommentsTree(BLOG_ID, null, 3).get(0).getReplies();
+
+        assertEquals(replyIds.subList(0, 3), replies.stream().map(CommentResponse::getId).toList());
+    }
+
+    @Test
+    void servesRepeatReadsFromCacheUntilInvalidated() {
+        CommentEntity root = persist(null);
+        persist(root);
+        startCounting();
+
+        engagementService.getCommentsTree(BLOG_ID);
+        engagementService.getCommentsTree(BLOG_ID, 0, null);
+        engagementService.getCommentsTreeJson(BLOG_ID);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        commentTreeCache.invalidate(BLOG_ID);
+        List<CommentResponse> tree = engagementService.getCommentsTree(BLOG_ID);
+
+        assertEquals(1, tree.get(0).getReplies().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private CommentEntity persist(CommentEntity parent) {
+        time = time.plusSeconds(1);
+        return entityManager.persist(CommentEntity.builder()
+                .blogId(BLOG_ID)
+                .username("user")
+                .content("comment")
+                .parent(parent)
+                .createdAt(time)
+                .build());
+    }
+
+    /**
+     * Writes the fixture, detaches it so nothing is served from the persistence context, and resets the counters.
+     */
+    private void startCounting() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+}
@@ -0,0 +1,87 @@
+package com.blogspot.engagement.service;
+
+import com.blogspot.engagement.model.BlogEngagementStats;
+import com.blogspot.engagement.model.LikeEntity;
+import com.blogspot.engagement.repository.BlogEngagementStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class EngagementStatsWriterTest {
+
+    @Configuration
+    @EntityScan(basePackageClasses = BlogEngagementStats.class)
+    @EnableJpaRepositories(basePackageClasses = BlogEngagementStatsRepository.class)
+    @Import(EngagementStatsWriter.class)
+    static class Config {
+    }
+
+    @MockitoBean
+    private MilestoneChecker milestoneChecker;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EngagementStatsWriter statsWriter;
+
+    @Test
+    void seedsMissingRowWithoutTheCallersOwnWrite() {
+        like(1L, "alice");
+        like(1L, "bob");
+        // The caller's like, already inserted in its transaction
+        like(1L, "carol");
+        entityManager.flush();
+
+        EngagementStatsWriter.Change change = statsWriter.applyDelta(1L, 1, 0, 0);
+
+        assertEquals(2, change.before().likes());
+        assertEquals(3, change.after().likes());
+        assertEquals(3, likeCountOf(1L));
+        verify(milestoneChecker).check(1L, "LIKES", 2, 3);
+    }
+
+    @Test
+    void appliesDeltaToExistingRow() {
+        like(2L, "alice");
+        entityManager.flush();
+        statsWriter.applyDelta(2L, 1, 0, 0);
+        like(2L, "bob");
+        entityManager.flush();
+
+        EngagementStatsWriter.Change change = statsWriter.applyDelta(2L, 1, 0, 0);
+
+        assertEquals(1, change.before().likes());
+        assertEquals(2, change.after().likes());
+        assertEquals(2, likeCountOf(2L));
+    }
+
+    @Test
+    void seedsViewsFromRollupsAndAddsTheFlushedDelta() {
+        EngagementStatsWriter.Change change = statsWriter.applyDelta(3L, 0, 5, 0);
+
+        assertEquals(0, change.before().views());
+        assertEquals(5, change.after().views());
+    }
+
+    private void like(Long blogId, String username) {
+        entityManager.persist(LikeEntity.builder().blogId(blogId).username(username).build());
+    }
+
+    private long likeCountOf(Long blogId) {
+        entityManager.clear();
+        return entityManager.find(BlogEngagementStats.class, blogId).getLikeCount();
+    }
+}
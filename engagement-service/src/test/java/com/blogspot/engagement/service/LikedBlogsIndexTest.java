@@ -0,0 +1,141 @@
+package com.blogspot.engagement.service;
+
+import com.blogspot.engagement.dto.EngagementDtos.LikedBlogsPage;
+import com.blogspot.engagement.repository.LikeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LikedBlogsIndexTest {
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    private LikedBlogsIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new LikedBlogsIndex(likeRepository, new SimpleMeterRegistry(), 64 * 1024 * 1024);
+    }
+
+    @Test
+    void pagesThroughLikesInDescendingIdOrder() {
+        when(likeRepository.findBlogIdsByUsername("alice")).thenReturn(List.of(3L, 10L, 7L, 1L, 5L));
+
+        LikedBlogsPage first = index.getPage("alice", null, 2);
+        assertEquals(List.of(10L, 7L), first.getBlogIds());
+        assertEquals("7", first.getNextCursor());
+
+        LikedBlogsPage second = index.getPage("alice", first.getNextCursor(), 2);
+        assertEquals(List.of(5L, 3L), second.getBlogIds());
+        assertEquals("3", second.getNextCursor());
+
+        LikedBlogsPage last = index.getPage("alice", second.getNextCursor(), 2);
+        assertEquals(List.of(1L), last.getBlogIds());
+        assertNull(last.getNextCursor());
+        verify(likeRepository, times(1)).findBlogIdsByUsername("alice");
+    }
+
+    @Test
+    void exactlyFullLastPageHasNoNextCursor() {
+        when(likeRepository.findBlogIdsByUsername("alice")).thenReturn(List.of(1L, 2L));
+
+        LikedBlogsPage page = index.getPage("alice", "", 2);
+
+        assertEquals(List.of(2L, 1L), page.getBlogIds());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void cursorAtOrBelowSmallestIdReturnsEmptyPage() {
+        when(likeRepository.findBlogIdsByUsername("alice")).thenReturn(List.of(1L, 2L));
+
+        LikedBlogsPage page = index.getPage("alice", "1", 10);
+
+        assertTrue(page.getBlogIds().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void rejectsNonPositiveAndMalformedCursors() {
+        assertThrows(IllegalArgumentException.class, () -> index.getPage("alice", "0", 10));
+        assertThrows(IllegalArgumentException.class, () -> index.getPage("alice", "-5", 10));
+        assertThrows(IllegalArgumentException.class, () -> index.getPage("alice", "abc", 10));
+        verify(likeRepository, never()).findBlogIdsByUsername("alice");
+    }
+
+    @Test
+    void appliesLikesAndUnlikesToLoadedUsers() {
+        when(likeRepository.findBlogIdsByUsername("alice")).thenReturn(List.of(1L));
+        assertTrue(index.isLiked("alice", 1L));
+
+        index.onLiked("alice", 42L);
+        index.onUnliked("alice", 1L);
+
+        assertTrue(index.isLiked("alice", 42L));
+        assertFalse(index.isLiked("alice", 1L));
+        assertEquals(List.of(42L), index.getPage("alice", null, 10).getBlogIds());
+        verify(likeRepository, times(1)).findBlogIdsByUsername("alice");
+    }
+
+    @Test
+    void ignoresUpdatesForUsersNotLoaded() {
+        index.onLiked("bob", 42L);
+
+        verify(likeRepository, never()).findBlogIdsByUsername("bob");
+    }
+
+    @Test
+    void replaysUpdatesCommittedWhileLoading() {
+        when(likeRepository.findBlogIdsByUsername("alice")).thenAnswer(invocation -> {
+            // Committed after the query read its snapshot
+            index.onUnliked("alice", 1L);
+            index.onLiked("alice", 9L);
+            return List.of(1L, 2L);
+        });
+
+        assertEquals(List.of(9L, 2L), index.getPage("alice", null, 10).getBlogIds());
+    }
+
+    @Test
+    void failedLoadIsRetriedOnNextRequest() {
+        when(likeRepository.findBlogIdsByUsername("alice"))
+            .thenThrow(new QueryTimeoutException("timeout"))
+            .thenReturn(List.of(5L));
+
+        assertThrows(QueryTimeoutException.class, () -> index.isLiked("alice", 5L));
+        assertTrue(index.isLiked("alice", 5L));
+    }
+
+    @Test
+    void evictsWhenLikesGrowPastBudget() {
+        index = new LikedBlogsIndex(likeRepository, new SimpleMeterRegistry(), 4096);
+        when(likeRepository.findBlogIdsByUsername("alice")).thenReturn(List.of());
+        index.isLiked("alice", 1L);
+
+        // Ids far apart land in separate containers, so the bitmap outgrows the budget
+        for (long i = 1; i <= 1000; i++) {
+            index.onLiked("alice", i << 20);
+        }
+        index.isLiked("alice", 1L);
+
+        verify(likeRepository, times(2)).findBlogIdsByUsername("alice");
+    }
+}
@@ -0,0 +1,59 @@
+package com.blogspot.engagement.service;
+
+import com.blogspot.engagement.dto.EngagementDtos.TrendingBlog;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrendingEngineTest {
+
+    private final TrendingEngine engine = new TrendingEngine(null, 5, 1, 10,
+        Duration.ofMinutes(20), Duration.ofHours(6), 3);
+
+    @Test
+    void leadersFollowEachRecordedEvent() {
+        engine.record(1L, TrendingEngine.Activity.VIEW);
+        engine.record(1L, TrendingEngine.Activity.VIEW);
+        engine.record(2L, TrendingEngine.Activity.LIKE);
+
+        assertEquals(List.of(2L, 1L), blogIds(engine.getTrending(TrendingEngine.Window.HOUR, 10)));
+
+        engine.record(1L, TrendingEngine.Activity.COMMENT);
+
+        List<TrendingBlog> leaders = engine.getTrending(TrendingEngine.Window.DAY, 10);
+        assertEquals(List.of(1L, 2L), blogIds(leaders));
+        assertEquals(2, leaders.get(0).getViews());
+        assertEquals(1, leaders.get(0).getComments());
+        assertTrue(leaders.get(0).getScore() > leaders.get(1).getScore());
+    }
+
+    @Test
+    void retractionRemovesBlogWithoutScore() {
+        engine.record(1L, TrendingEngine.Activity.LIKE);
+        engine.record(2L, TrendingEngine.Activity.VIEW);
+
+        engine.retract(1L, TrendingEngine.Activity.LIKE);
+
+        assertEquals(List.of(2L), blogIds(engine.getTrending(TrendingEngine.Window.HOUR, 10)));
+    }
+
+    @Test
+    void capsLeadersAtMaxSize() {
+        for (long blogId = 1; blogId <= 5; blogId++) {
+            for (int i = 0; i < blogId; i++) {
+                engine.record(blogId, TrendingEngine.Activity.VIEW);
+            }
+        }
+
+        assertEquals(List.of(5L, 4L, 3L), blogIds(engine.getTrending(TrendingEngine.Window.HOUR, 10)));
+        assertEquals(List.of(5L), blogIds(engine.getTrending(TrendingEngine.Window.HOUR, 1)));
+    }
+
+    private static List<Long> blogIds(List<TrendingBlog> leaders) {
+        return leaders.stream().map(TrendingBlog::getBlogId).toList();
+    }
+}
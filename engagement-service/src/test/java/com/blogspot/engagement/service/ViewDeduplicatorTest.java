@@ -0,0 +1,59 @@
+package com.blogspot.engagement.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ViewDeduplicatorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ViewDeduplicator deduplicator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        deduplicator = new ViewDeduplicator(meterRegistry, 10_000, 0.001);
+    }
+
+    @Test
+    void suppressesRepeatViewsOnceRecorded() {
+        assertTrue(deduplicator.isFirstView(1L, "u:alice"));
+        deduplicator.markViewed(1L, "u:alice");
+
+        assertFalse(deduplicator.isFirstView(1L, "u:alice"));
+        assertTrue(deduplicator.isFirstView(2L, "u:alice"));
+        assertTrue(deduplicator.isFirstView(1L, "u:bob"));
+        assertEquals(1.0, meterRegistry.counter("engagement.views.dedup", "result", "suppressed").count());
+    }
+
+    @Test
+    void shedViewIsNotRememberedSoTheRetryCounts() {
+        assertTrue(deduplicator.isFirstView(1L, "ip:10.0.0.1"));
+        // Not marked: the ingestion buffer was full and the request got a 503
+
+        assertTrue(deduplicator.isFirstView(1L, "ip:10.0.0.1"));
+    }
+
+    @Test
+    void remembersViewsForOneRotationAndForgetsThemAfterTwo() {
+        deduplicator.markViewed(1L, "u:alice");
+
+        deduplicator.rotate();
+        assertFalse(deduplicator.isFirstView(1L, "u:alice"));
+
+        deduplicator.rotate();
+        assertTrue(deduplicator.isFirstView(1L, "u:alice"));
+    }
+
+    @Test
+    void viewsWithoutViewerKeyAreAlwaysAccepted() {
+        deduplicator.markViewed(1L, null);
+
+        assertTrue(deduplicator.isFirstView(1L, null));
+        assertTrue(deduplicator.isFirstView(1L, null));
+    }
+}
@@ -0,0 +1,62 @@
+package com.blogspot.engagement.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    @Test
+    void estimatesDistinctValuesIgnoringRepeats() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int repeat = 0; repeat < 3; repeat++) {
+            for (int i = 0; i < 100_000; i++) {
+                sketch.add("viewer-" + i);
+            }
+        }
+        assertWithinError(100_000, sketch.estimate(), 0.05);
+    }
+
+    @Test
+    void smallCardinalitiesAreNearlyExact() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 50; i++) {
+            sketch.add("viewer-" + i);
+        }
+        assertWithinError(50, sketch.estimate(), 0.05);
+    }
+
+    @Test
+    void mergeEstimatesTheUnion() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (int i = 0; i < 60_000; i++) {
+            first.add("viewer-" + i);
+        }
+        for (int i = 40_000; i < 100_000; i++) {
+            second.add("viewer-" + i);
+        }
+        first.merge(second);
+        assertWithinError(100_000, first.estimate(), 0.05);
+    }
+
+    @Test
+    void roundTripsThroughBytes() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 1_000; i++) {
+            sketch.add("viewer-" + i);
+        }
+        byte[] bytes = sketch.toBytes();
+        assertEquals((1 << HyperLogLog.DEFAULT_PRECISION) + 1, bytes.length);
+        assertArrayEquals(bytes, HyperLogLog.fromBytes(bytes).toBytes());
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[] {12, 0, 0}));
+    }
+
+    private static void assertWithinError(long expected, long actual, double tolerance) {
+        assertTrue(Math.abs(actual - expected) <= expected * tolerance,
+                () -> "expected ~" + expected + " but was " + actual);
+    }
+}
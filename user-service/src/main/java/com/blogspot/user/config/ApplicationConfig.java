@@ -1,5 +1,7 @@
 package com.blogspot.user.config;
 
+import com.blogspot.common.security.JwtVerifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -12,4 +14,10 @@ public class ApplicationConfig {
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
+
+    @Bean
+    public JwtVerifier jwtVerifier(@Value("${spring.security.oauth2.jwt.secret}") String secretKey,
+                                   @Value("${jwt.verification-cache.max-size:10000}") int maxCacheSize) {
+        return new JwtVerifier(secretKey, maxCacheSize);
+    }
 }
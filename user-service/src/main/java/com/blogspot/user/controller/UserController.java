@@ -57,8 +57,8 @@ public class UserController {
         // This remains public for anyone to log in
         try {
             User user = userService.authenticateUser(loginDto);
-            // In a real app, you might want to include roles in the token
-            String jwt = jwtService.generateToken(user.getUsername());
+            // Id and role travel in the token so other services can skip the profile lookup
+            String jwt = jwtService.generateToken(user);
             return ResponseEntity.ok(new JwtResponseDto(jwt, "Bearer", user.getId(), user.getUsername(), user.getEmail()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Invalid credentials");
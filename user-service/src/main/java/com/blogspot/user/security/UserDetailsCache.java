@@ -0,0 +1,104 @@
+package com.blogspot.user.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, TTL-based cache in front of {@link JpaUserDetailsService} for the JWT filter.
+ * UserService invalidates entries when a user is updated or deleted; the TTL bounds how
+ * long other instances can keep serving a stale role or a deleted user. A load that overlaps an
+ * invalidation is returned but not cached, so the invalidation always wins on this instance.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final UserDetailsService userDetailsService;
+    private final long ttlMillis;
+    private final int maxSize;
+    private final Map<String, CachedUser> cache = new ConcurrentHashMap<>();
+    // Bumped by every invalidation; a load that sees it change skips caching its result
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public UserDetailsCache(UserDetailsService userDetailsService,
+                            MeterRegistry meterRegistry,
+                            @Value("${user-details.cache.ttl:60s}") Duration ttl,
+                            @Value("${user-details.cache.max-size:10000}") int maxSize) {
+        this.userDetailsService = userDetailsService;
+        this.ttlMillis = ttl.toMillis();
+        this.maxSize = maxSize;
+        this.hits = meterRegistry.counter("user.details.cache", "result", "hit");
+        this.misses = meterRegistry.counter("user.details.cache", "result", "miss");
+        this.evictions = meterRegistry.counter("user.details.cache.evictions");
+        meterRegistry.gaugeMapSize("user.details.cache.size", Tags.empty(), cache);
+    }
+
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        long now = System.currentTimeMillis();
+        CachedUser cached = cache.get(username);
+        if (cached != null && cached.expiresAt() > now) {
+            hits.increment();
+            return cached.userDetails();
+        }
+
+        misses.increment();
+        // Read before the load: if an invalidation lands while the user is being read, the result may
+        // predate it and must not be cached
+        long invalidationsBefore = invalidations.get();
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (cache.size() >= maxSize) {
+            evict(now);
+        }
+        // Runs under the key's lock, so it is ordered against invalidate() for the same user
+        cache.compute(username, (key, existing) -> {
+            if (invalidations.get() != invalidationsBefore) {
+                return existing;
+            }
+            if (existing != null && existing.expiresAt() <= now) {
+                evictions.increment();
+            }
+            return new CachedUser(userDetails, now + ttlMillis);
+        });
+        return userDetails;
+    }
+
+    public void invalidate(String username) {
+        if (username != null) {
+            cache.compute(username, (key, existing) -> {
+                invalidations.incrementAndGet();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Drops expired entries; if the cache is still full, drops arbitrary entries until there is room.
+     */
+    private void evict(long now) {
+        int before = cache.size();
+        cache.values().removeIf(entry -> entry.expiresAt() <= now);
+        Iterator<String> keys = cache.keySet().iterator();
+        while (cache.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+        evictions.increment(Math.max(0, before - cache.size()));
+    }
+
+    private record CachedUser(UserDetails userDetails, long expiresAt) {}
+}
@@ -7,6 +7,7 @@ import com.blogspot.user.exception.UserNotFoundException;
 import com.blogspot.user.model.Role;
 import com.blogspot.user.model.User;
 import com.blogspot.user.repository.UserRepository;
+import com.blogspot.user.security.UserDetailsCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -19,11 +20,14 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final NotificationPublisher notificationPublisher;
+    private final UserDetailsCache userDetailsCache;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, NotificationPublisher notificationPublisher) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, NotificationPublisher notificationPublisher,
+                       UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.notificationPublisher = notificationPublisher;
+        this.userDetailsCache = userDetailsCache;
     }
 
     public User registerNewUser(UserRegistrationDto registrationDto) {
@@ -119,6 +123,8 @@ public class UserService {
         user.setLastName(userProfileDto.getLastName());
 
         User updatedUser = userRepository.save(user);
+        userDetailsCache.invalidate(username);
+        userDetailsCache.invalidate(updatedUser.getUsername());
         return new UserProfileDto(updatedUser.getId(), updatedUser.getUsername(), updatedUser.getEmail(), updatedUser.getFirstName(), updatedUser.getLastName(), updatedUser.getRole().name());
     }
 
@@ -141,6 +147,7 @@ public class UserService {
     public UserProfileDto updateUser(Long userId, UserProfileDto userProfileDto) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
+        String previousUsername = user.getUsername();
 
         user.setUsername(userProfileDto.getUsername());
         user.setEmail(userProfileDto.getEmail());
@@ -149,13 +156,15 @@ public class UserService {
         // Note: Password updates should have their own dedicated and secure process.
 
         User updatedUser = userRepository.save(user);
+        userDetailsCache.invalidate(previousUsername);
+        userDetailsCache.invalidate(updatedUser.getUsername());
         return new UserProfileDto(updatedUser.getId(), updatedUser.getUsername(), updatedUser.getEmail(), updatedUser.getFirstName(), updatedUser.getLastName(), updatedUser.getRole().name());
     }
 
     public void deleteUser(Long userId) {
-        if (!userRepository.existsById(userId)) {
-            throw new UserNotFoundException("User not found with id: " + userId);
-        }
-        userRepository.deleteById(userId);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
+        userRepository.delete(user);
+        userDetailsCache.invalidate(user.getUsername());
     }
 }
\ No newline at end of file
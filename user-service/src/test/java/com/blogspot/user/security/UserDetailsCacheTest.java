@@ -0,0 +1,86 @@
+package com.blogspot.user.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UserDetailsCacheTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    private UserDetailsService onLoad = username -> null;
+
+    private UserDetailsCache cache(Duration ttl, int maxSize) {
+        UserDetailsService userDetailsService = username -> {
+            loads.incrementAndGet();
+            onLoad.loadUserByUsername(username);
+            return User.withUsername(username).password("secret").roles("USER").build();
+        };
+        return new UserDetailsCache(userDetailsService, meterRegistry, ttl, maxSize);
+    }
+
+    @Test
+    void servesCachedUserUntilInvalidated() {
+        UserDetailsCache cache = cache(Duration.ofMinutes(1), 10);
+
+        cache.loadUserByUsername("alice");
+        cache.loadUserByUsername("alice");
+        assertEquals(1, loads.get());
+
+        cache.invalidate("alice");
+        cache.loadUserByUsername("alice");
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidationDuringLoadIsNotOverwrittenByTheStaleResult() {
+        UserDetailsCache cache = cache(Duration.ofMinutes(1), 10);
+        // The user is updated and invalidated after the load read it but before it was cached
+        onLoad = username -> {
+            if (loads.get() == 1) {
+                cache.invalidate(username);
+            }
+            return null;
+        };
+
+        cache.loadUserByUsername("alice");
+        cache.loadUserByUsername("alice");
+        cache.loadUserByUsername("alice");
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void countsReplacedExpiredEntriesAsEvictions() {
+        UserDetailsCache cache = cache(Duration.ZERO, 10);
+
+        cache.loadUserByUsername("alice");
+        cache.loadUserByUsername("alice");
+
+        assertEquals(2, loads.get());
+        assertEquals(1.0, evictions());
+    }
+
+    @Test
+    void evictsToStayWithinMaxSize() {
+        UserDetailsCache cache = cache(Duration.ofMinutes(1), 2);
+
+        cache.loadUserByUsername("alice");
+        cache.loadUserByUsername("bob");
+        cache.loadUserByUsername("carol");
+
+        assertEquals(2.0, meterRegistry.get("user.details.cache.size").gauge().value());
+        assertEquals(1.0, evictions());
+    }
+
+    private double evictions() {
+        return meterRegistry.get("user.details.cache.evictions").counter().count();
+    }
+}